@@ -0,0 +1,155 @@
+package study.datajpa.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Member.team 로딩 전략 비교 (모두 회원 전체 조회 후 member.team.name까지 읽음)
+ * - lazyLoading        : 페치 없는 JPQL -> 지연 로딩 N+1
+ * - fetchJoin          : findMemberFetchJoin
+ * - entityGraphQuery   : findMemberEntityGraph
+ * - entityGraphFindAll : @EntityGraph로 오버라이드한 findAll
+ *
+ * batchFetchSize 1 = 배치 페치 없음, 100 = application.properties의 datajpa.fetch.default-batch-size
+ * 처리량은 JMH 결과, 할당률은 gc 프로파일러, SQL 수는 trial이 끝날 때 statements/op로 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FetchStrategyBenchmark {
+
+    @Param("100")
+    int teams;
+
+    @Param("10")
+    int membersPerTeam;
+
+    @Param({"1", "100"})
+    int batchFetchSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:fetch-benchmark;DB_CLOSE_DELAY=-1",
+                        "datajpa.fetch.default-batch-size=" + batchFetchSize,
+                        // 캐시 없이 매번 DB에서 읽는 비용만 비교
+                        "spring.jpa.properties.jakarta.persistence.sharedCache.mode=NONE",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "decorator.datasource.enabled=false",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.org.hibernate.orm.jdbc.bind=warn")
+                .run();
+
+        memberRepository = context.getBean(MemberRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        seed(context.getBean(TeamRepository.class));
+    }
+
+    // MemberController.init이 넣은 팀 없는 회원은 지우고 팀 x 회원 데이터만 남김
+    private void seed(TeamRepository teamRepository) {
+        memberRepository.deleteAllInBatch();
+
+        List<Team> teamList = new ArrayList<>();
+        List<Member> memberList = new ArrayList<>();
+        for (int i = 0; i < teams; i++) {
+            Team team = new Team("team" + i);
+            teamList.add(team);
+            for (int j = 0; j < membersPerTeam; j++) {
+                memberList.add(new Member("member" + i + "_" + j, j, team));
+            }
+        }
+        teamRepository.saveAllInBatch(teamList);
+        memberRepository.saveAllInBatch(memberList);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) {
+        System.out.printf("%n[sql] %s batchFetchSize=%d statements/op=%.1f%n",
+                params.getBenchmark(), batchFetchSize, (double) statements.sum() / operations.sum());
+        context.close();
+    }
+
+    @Benchmark
+    public int lazyLoading() {
+        return readTeamNames(() -> memberRepository.findMemberCustom());
+    }
+
+    @Benchmark
+    public int fetchJoin() {
+        return readTeamNames(() -> memberRepository.findMemberFetchJoin());
+    }
+
+    @Benchmark
+    public int entityGraphQuery() {
+        return readTeamNames(() -> memberRepository.findMemberEntityGraph());
+    }
+
+    @Benchmark
+    public int entityGraphFindAll() {
+        return readTeamNames(() -> memberRepository.findAll());
+    }
+
+    // 요청 하나처럼 트랜잭션(영속성 컨텍스트)을 새로 열고 team.name까지 접근
+    private int readTeamNames(Supplier<List<Member>> query) {
+        long before = statistics.getPrepareStatementCount();
+        Integer total = readOnly.execute(status -> {
+            int sum = 0;
+            for (Member member : query.get()) {
+                sum += member.getTeam().getName().length();
+            }
+            return sum;
+        });
+        statements.add(statistics.getPrepareStatementCount() - before);
+        operations.increment();
+        return total;
+    }
+}
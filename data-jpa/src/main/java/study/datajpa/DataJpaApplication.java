@@ -1,14 +1,19 @@
 package study.datajpa;
 
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import study.datajpa.repository.support.UsernameIndex;
+import study.datajpa.warmup.RepositoryWarmup;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @EnableJpaAuditing
 @SpringBootApplication
@@ -20,9 +25,32 @@ public class DataJpaApplication {
 
 
 	// 현재 사용자는 누구인가 -> 이를 통해 생성, 수정 일자를 기록함
+	// UUID.randomUUID()는 SecureRandom이라 insert가 많으면 병목 -> ThreadLocalRandom으로 같은 형식(v4)만 맞춤
 	@Bean
 	public AuditorAware<String> auditorProvider(){
-		return () -> Optional.of(UUID.randomUUID().toString());
+		return () -> Optional.of(randomUuid().toString());
+	}
+
+	private static UUID randomUuid(){
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L; // version 4
+		long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // IETF variant
+		return new UUID(mostSigBits, leastSigBits);
+	}
+
+	// 트래픽 받기 전 워밍업 (쿼리 계획 + JIT)
+	// 러너가 끝난 뒤에 readiness가 ACCEPTING_TRAFFIC으로 바뀜, prod 프로파일에서만 켬
+	@Bean
+	@ConditionalOnProperty(name = "datajpa.warmup.enabled", havingValue = "true")
+	public ApplicationRunner warmup(RepositoryWarmup repositoryWarmup){
+		return args -> repositoryWarmup.run();
+	}
+
+	// 로그인 경로 username Bloom filter 초기 생성 + 주기적 재생성
+	@Bean
+	@ConditionalOnProperty(name = "datajpa.username-index.enabled", havingValue = "true")
+	public ApplicationRunner usernameIndexLoader(UsernameIndex usernameIndex){
+		return args -> usernameIndex.start();
 	}
 
 }
@@ -0,0 +1,47 @@
+package study.datajpa.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.dto.CacheRegionStatsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 2차 캐시 리전별 + 쿼리 결과 캐시 hit/miss -> 캐시 크기 정할 때 참고
+@RequiredArgsConstructor
+@RestController
+public class CacheStatsController {
+
+    private final EntityManagerFactory emf;
+
+    @GetMapping("/cache/stats")
+    public List<CacheRegionStatsDto> stats(){
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                result.add(toDto(region, regionStats));
+            }
+        }
+        // 쿼리 결과 캐시 전체 합계
+        long queryLookups = statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount();
+        result.add(new CacheRegionStatsDto("query-cache",
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(),
+                queryLookups == 0 ? 0.0 : (double) statistics.getQueryCacheHitCount() / queryLookups, -1));
+        return result;
+    }
+
+    private CacheRegionStatsDto toDto(String region, CacheRegionStatistics stats) {
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        double hitRatio = lookups == 0 ? 0.0 : (double) stats.getHitCount() / lookups;
+        return new CacheRegionStatsDto(region, stats.getHitCount(), stats.getMissCount(),
+                stats.getPutCount(), hitRatio, stats.getElementCountInMemory());
+    }
+}
@@ -1,22 +1,61 @@
 package study.datajpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import study.datajpa.dto.CursorPage;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberCursor;
 import study.datajpa.repository.MemberRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
 @RequiredArgsConstructor
 @RestController
 public class MemberController {
 
+    // spring.data.pageable.max-page-size와 맞춤
+    private static final int MAX_KEYSET_SIZE = 2000;
+    // export는 줄을 이만큼 모아서 한 번에 보냄 (send마다 flush)
+    private static final int EXPORT_CHUNK_BYTES = 64 * 1024;
+
     private final MemberRepository memberRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final MemberExportExecutor exportExecutor;
+
+    // 기동할 때 샘플 회원 100명 (faststart 프로필은 끔)
+    @Value("${datajpa.sample-data.enabled:true}")
+    private boolean sampleData;
+
+    // export 응답 하나에만 거는 async 타임아웃 (다른 async 요청은 spring.mvc.async.request-timeout 기본값)
+    @Value("${datajpa.export.timeout:30m}")
+    private Duration exportTimeout;
 
     @GetMapping("members/{id}")
     public String findMember(@PathVariable("id") Long id){
@@ -33,15 +72,102 @@ public class MemberController {
     // DTO로 변환
     @GetMapping("/members")
     public Page<MemberDto> list(@PageableDefault(size=5, sort = "username")Pageable pageable){
-        Page<Member> page = memberRepository.findAll(pageable);
-        Page<MemberDto> map = page.map(member -> new MemberDto(member.getId(), member.getUsername(), null));
-        return map;
+        // 엔티티를 거치지 않고 DTO로 바로 조회, count는 캐시/생략 가능한 페이징 사용
+        return memberRepository.findMemberDtoPage(pageable);
+    }
+
+    // 키셋 페이징 -> /members?after= 로 첫 페이지, 응답의 nextCursor를 after에 넣어서 다음 페이지
+    // offset을 쓰지 않아서 깊은 페이지도 첫 페이지와 같은 비용
+    // 커서/size가 잘못되면 클라이언트 잘못이라 400
+    @GetMapping(value = "/members", params = "after")
+    public CursorPage<MemberDto> listAfter(@RequestParam("after") String after,
+                                          @RequestParam(value = "size", defaultValue = "5") int size){
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1 이상이어야 함: " + size);
+        }
+        MemberCursor cursor;
+        try {
+            cursor = MemberCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        // /members와 같이 DTO로 바로 조회 (teamName 포함)
+        Slice<MemberDto> slice = memberRepository.findMemberDtoKeyset(cursor, Math.min(size, MAX_KEYSET_SIZE));
+        List<MemberDto> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? MemberCursor.of(slice.getContent().get(slice.getNumberOfElements() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, slice.hasNext());
+    }
+
+    // 전체 회원 NDJSON(한 줄에 JSON 하나) 스트리밍
+    // List로 다 올리지 않고 한 줄씩 써서 내보내기 때문에 건수와 상관없이 힙 사용량이 일정함
+    // 오래 걸릴 수 있어서 이 응답만 datajpa.export.timeout (넘으면 emitter가 끝나고 send가 실패해서 스트림을 닫음)
+    // 전용 스레드(MemberExportExecutor)에서 돌고, 동시 export가 꽉 차면 503
+    @GetMapping(value = "/members/export", produces = "application/x-ndjson")
+    public ResponseEntity<ResponseBodyEmitter> export(){
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(exportTimeout.toMillis());
+        try {
+            exportExecutor.submit(() -> stream(emitter));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "동시 export가 꽉 참, 잠시 후 다시 시도", e);
+        }
+        // emitter는 첫 send 전에 헤더를 보내서 Content-Type을 여기서 정함
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    private void stream(ResponseBodyEmitter emitter) {
+        try {
+            // 응답은 별도 스레드에서 쓰기 때문에 스트림을 열어둘 읽기 전용 트랜잭션을 여기서 시작
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                ByteArrayOutputStream lines = new ByteArrayOutputStream(EXPORT_CHUNK_BYTES * 2);
+                try (Stream<MemberDto> members = memberRepository.streamMemberDto()) {
+                    members.forEach(dto -> {
+                        writeLine(lines, dto);
+                        if (lines.size() >= EXPORT_CHUNK_BYTES) {
+                            send(emitter, lines);
+                        }
+                    });
+                }
+                send(emitter, lines);
+            });
+            emitter.complete();
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void writeLine(OutputStream out, MemberDto dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void send(ResponseBodyEmitter emitter, ByteArrayOutputStream lines) {
+        if (lines.size() == 0) {
+            return;
+        }
+        try {
+            emitter.send(lines.toByteArray(), MediaType.APPLICATION_NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lines.reset();
     }
 
     @PostConstruct
     public void init(){
+        if (!sampleData) {
+            return;
+        }
+        List<Member> members = new ArrayList<>();
         for(int i =0; i < 100; i++){
-            memberRepository.save(new Member("user" + i, i));
+            members.add(new Member("user" + i, i));
         }
+        // save()를 100번 부르면 트랜잭션 100개 + insert 100번 -> 한 트랜잭션에서 batch insert
+        memberRepository.saveAllInBatch(members);
     }
 }
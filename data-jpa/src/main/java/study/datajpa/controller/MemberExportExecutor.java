@@ -0,0 +1,61 @@
+package study.datajpa.controller;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /members/export 전용 스레드 (datajpa.export.max-concurrent개까지, 대기 없음)
+ * export 하나가 스레드와 커넥션을 datajpa.export.timeout(30m)까지 잡고 있을 수 있음
+ * -> applicationTaskExecutor(ConcurrentPageExecutor의 count 등)와 나눠서 export가 몰려도 다른 비동기 작업은 그대로
+ * 꽉 차면 바로 RejectedExecutionException -> MemberController가 503
+ *
+ * Executor 빈으로 내놓지 않음 (Executor 빈이 생기면 부트의 applicationTaskExecutor 자동 설정이 빠짐)
+ */
+@Component
+public class MemberExportExecutor implements DisposableBean {
+
+    private final Semaphore permits;
+    private final ThreadPoolExecutor executor;
+
+    public MemberExportExecutor(@Value("${datajpa.export.max-concurrent:4}") int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+        // 실행 수는 허가로 제한 -> 스레드 풀은 허가 수만큼, 큐에서 거절될 일 없음
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("member-export-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    // 끝나면(실패해도) 허가 반환, 반환된 Future가 끝났으면 허가도 이미 돌아와 있음
+    public Future<?> submit(Runnable export) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("동시 export가 이미 " + executor.getMaximumPoolSize() + "개");
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    export.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
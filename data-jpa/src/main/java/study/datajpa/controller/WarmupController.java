@@ -0,0 +1,22 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.dto.EndpointLatencyDto;
+import study.datajpa.warmup.RequestLatencyRecorder;
+
+import java.util.List;
+
+// 배포 후 첫 요청 지연(cold start)이 없어졌는지 확인용
+@RequiredArgsConstructor
+@RestController
+public class WarmupController {
+
+    private final RequestLatencyRecorder requestLatencyRecorder;
+
+    @GetMapping("/warmup/latency")
+    public List<EndpointLatencyDto> latency(){
+        return requestLatencyRecorder.snapshot();
+    }
+}
@@ -0,0 +1,16 @@
+package study.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 키셋 페이징 응답 -> 전체 개수/페이지 번호 없이 다음 커서만 내려줌
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor; // 다음 페이지가 없으면 null
+    private boolean hasNext;
+}
@@ -0,0 +1,14 @@
+package study.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EndpointLatencyDto {
+
+    private String endpoint;      // GET /members/{id}
+    private double firstMillis;   // 기동 후 첫 요청
+    private double steadyP50Millis; // 최근 요청들의 중앙값, 요청이 하나뿐이면 -1
+    private long requests;
+}
@@ -0,0 +1,17 @@
+package study.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class SlowQueryDto {
+
+    private String fingerprint;
+    private String sql;           // 바인드 값이 들어간 SQL
+    private double millis;
+    private String repository;    // 실행한 레포지토리 메소드, 레포지토리 밖이면 null
+    private Instant executedAt;
+}
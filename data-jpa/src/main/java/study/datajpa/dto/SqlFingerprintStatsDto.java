@@ -0,0 +1,17 @@
+package study.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SqlFingerprintStatsDto {
+
+    private String fingerprint;   // select m.id, ... where m.username=?
+    private long count;
+    private long errors;
+    private double totalMillis;
+    private double meanMillis;
+    private double p99Millis;     // 히스토그램 버킷 상한 (오차 12.5% 이내)
+    private double maxMillis;
+}
@@ -0,0 +1,65 @@
+package study.datajpa.entity;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * fast 모드 감사 값 캐시 (트랜잭션에 바인딩)
+ * - auditor : 트랜잭션에서 처음 필요할 때 한 번만 AuditorAware 호출
+ * - now     : flush 사이에 한 번만 시계를 읽음, flush가 끝나면(AuditFlushListener) 다음 값으로
+ * 트랜잭션 밖이면 캐시 없이 매번 새로 만듦
+ */
+final class AuditContext {
+
+    private String auditor;
+    private boolean auditorResolved;
+    private LocalDateTime now;
+
+    private AuditContext() {
+    }
+
+    static AuditContext current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new AuditContext();
+        }
+        AuditContext context = (AuditContext) TransactionSynchronizationManager.getResource(AuditContext.class);
+        if (context == null) {
+            context = new AuditContext();
+            TransactionSynchronizationManager.bindResource(AuditContext.class, context);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditContext.class);
+                }
+            });
+        }
+        return context;
+    }
+
+    static void flushEnded() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AuditContext context = (AuditContext) TransactionSynchronizationManager.getResource(AuditContext.class);
+            if (context != null) {
+                context.now = null;
+            }
+        }
+    }
+
+    String auditor(AuditorAware<String> auditorAware) {
+        if (!auditorResolved) {
+            auditor = auditorAware.getCurrentAuditor().orElse(null);
+            auditorResolved = true;
+        }
+        return auditor;
+    }
+
+    LocalDateTime now() {
+        if (now == null) {
+            now = LocalDateTime.now();
+        }
+        return now;
+    }
+}
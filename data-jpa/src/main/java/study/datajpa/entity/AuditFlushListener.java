@@ -0,0 +1,12 @@
+package study.datajpa.entity;
+
+import org.hibernate.BaseSessionEventListener;
+
+// hibernate.session.events.auto로 세션마다 등록 -> flush가 끝나면 fast 모드 시계 캐시를 비움
+public class AuditFlushListener extends BaseSessionEventListener {
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        AuditContext.flushEnded();
+    }
+}
@@ -0,0 +1,71 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.domain.AuditorAware;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * BaseTimeEntity/BaseEntity 감사 필드 채우기 (AuditingEntityListener 대신)
+ * Hibernate가 SpringBeanContainer로 생성하기 때문에 생성자 주입이 됨
+ *
+ * datajpa.auditing.mode
+ * - spring : 기존과 같음 -> AuditingHandler (엔티티마다 auditor 조회 + 시간 조회 + 리플렉션으로 필드 설정)
+ * - fast   : auditor는 트랜잭션당 1번, 시간은 flush당 1번(AuditContext), 필드는 메소드로 직접 대입
+ * - off    : 아무것도 안 함 (대량 적재 등 감사 값이 필요 없을 때)
+ */
+public class AuditListener {
+
+    private final AuditingMode mode;
+    private final ObjectProvider<AuditingHandler> auditingHandler;
+    private final AuditorAware<String> auditorAware;
+
+    public AuditListener(@Value("${datajpa.auditing.mode:spring}") String mode,
+                         ObjectProvider<AuditingHandler> auditingHandler,
+                         AuditorAware<String> auditorAware) {
+        this.mode = AuditingMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.auditingHandler = auditingHandler;
+        this.auditorAware = auditorAware;
+    }
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        switch (mode) {
+            case SPRING -> auditingHandler.getObject().markCreated(target);
+            case FAST -> {
+                AuditContext context = AuditContext.current();
+                if (target instanceof BaseTimeEntity entity) {
+                    entity.auditCreated(context.now());
+                }
+                if (target instanceof BaseEntity entity) {
+                    entity.auditCreatedBy(context.auditor(auditorAware));
+                }
+            }
+            case OFF -> {
+            }
+        }
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        switch (mode) {
+            case SPRING -> auditingHandler.getObject().markModified(target);
+            case FAST -> {
+                AuditContext context = AuditContext.current();
+                if (target instanceof BaseTimeEntity entity) {
+                    entity.auditModified(context.now());
+                }
+                if (target instanceof BaseEntity entity) {
+                    entity.auditModifiedBy(context.auditor(auditorAware));
+                }
+            }
+            case OFF -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package study.datajpa.entity;
+
+// datajpa.auditing.mode
+public enum AuditingMode {
+    SPRING, // Spring Data AuditingHandler (리플렉션, 호출마다 auditor/시간 조회)
+    FAST,   // 트랜잭션당 auditor 1번, flush당 시간 1번, 필드 직접 대입
+    OFF     // 감사 필드 안 채움
+}
@@ -1,20 +1,17 @@
 package study.datajpa.entity;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
 @MappedSuperclass
 @Getter
-@EntityListeners(AuditingEntityListener.class)  // JPA야 Auditing 기능 켜줭
 public class BaseEntity  extends BaseTimeEntity{
 
     @CreatedBy // 누가 생성 했는지
@@ -23,4 +20,14 @@ public class BaseEntity  extends BaseTimeEntity{
 
     @LastModifiedBy // 누가 수정 했는지
     private String lastModifiedBy;
+
+    // 리스너는 BaseTimeEntity의 AuditListener 하나 (두 번 등록하면 엔티티마다 두 번 호출됨)
+    void auditCreatedBy(String auditor) {
+        this.createdBy = auditor;
+        this.lastModifiedBy = auditor;
+    }
+
+    void auditModifiedBy(String auditor) {
+        this.lastModifiedBy = auditor;
+    }
 }
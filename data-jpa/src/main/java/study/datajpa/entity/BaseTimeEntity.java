@@ -6,13 +6,12 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
 @MappedSuperclass
 @Getter
-@EntityListeners(AuditingEntityListener.class) // JPA야 Auditing 기능 켜줭
+@EntityListeners(AuditListener.class) // JPA야 Auditing 기능 켜줭 (모드는 datajpa.auditing.mode)
 public class BaseTimeEntity {
 
     @CreatedDate // 언제 처음 DB에 INSERT된건지
@@ -21,4 +20,14 @@ public class BaseTimeEntity {
 
     @LastModifiedDate // 엔티티를 저장하거나 업데이트할 때 갱신
     private LocalDateTime lastModifiedDate;
+
+    // AuditListener(fast 모드)가 리플렉션 없이 직접 호출 -> 생성 시점에는 수정 일자도 같이 (Spring Data와 동일)
+    void auditCreated(LocalDateTime now) {
+        this.createdDate = now;
+        this.lastModifiedDate = now;
+    }
+
+    void auditModified(LocalDateTime now) {
+        this.lastModifiedDate = now;
+    }
 }
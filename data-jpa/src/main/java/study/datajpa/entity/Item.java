@@ -28,12 +28,14 @@ public class Item implements Persistable<String> {
         this.id = id;
     }
 
+    // ""를 돌려주면 Spring Data가 id로 새 엔티티인지 판단 못 함 -> 실제 id
     @Override
     public String getId() {
-        return "";
+        return id;
     }
 
     // 조건을 직접 짜야됨
+    // 대량 적재는 ItemRepository.insertAllInBatch/upsertAllInBatch (save()는 건마다 판단 + 트랜잭션)
     @Override
     public boolean isNew() {
         return createdDate == null;
@@ -2,6 +2,9 @@ package study.datajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.datajpa.repository.support.UsernameIndexEntityListener;
 
 @Entity
 @Getter
@@ -13,6 +16,16 @@ import lombok.*;
         query = "select m from Member m where m.username = :username"
 )
 @NamedEntityGraph(name="Member.all", attributeNodes = @NamedAttributeNode("team"))
+// username 조회(=, in), 키셋 페이징(username, id) -> idx_member_username_id
+// age 조회 + username 정렬 페이징(findByAge), age 벌크 -> idx_member_age_username
+// team_id는 FK라 DB가 인덱스를 만들어줌
+@Table(indexes = {
+        @Index(name = "idx_member_username_id", columnList = "username, member_id"),
+        @Index(name = "idx_member_age_username", columnList = "age, username")
+})
+@EntityListeners(UsernameIndexEntityListener.class) // 로그인 경로 username Bloom filter 갱신
+@Cacheable // 2차 캐시 -> findById, 프록시 초기화 시 DB 대신 캐시에서 조회
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Member extends BaseEntity{
 
     @Id @GeneratedValue
@@ -21,6 +34,12 @@ public class Member extends BaseEntity{
     private String username;
     private int age;
 
+    // 낙관적 락 -> update ... where version = ? 로 동시 수정 감지 (OptimisticRetryExecutor로 재시도)
+    // 벌크 update는 버전을 직접 올려야 됨 (m.version = m.version + 1)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -2,6 +2,9 @@ package study.datajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,6 +14,9 @@ import java.util.List;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name")) // findByNamePrefix (name like 'x%')
+@Cacheable // member.team 조회가 요청마다 반복되니까 2차 캐시
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Team {
 
     @Id
@@ -19,6 +25,14 @@ public class Team {
     private Long id;
     private String name;
 
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
+    // 팀 목록을 돌면서 members를 건드리면 팀 100개씩 묶어서 한 번에 조회
+    // 쿼리 하나로 읽은 팀 전부를 한 번에 채우려면 @FetchTuning(subselect = true)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
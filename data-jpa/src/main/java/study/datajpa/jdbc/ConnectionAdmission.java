@@ -0,0 +1,67 @@
+package study.datajpa.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * JDBC 입장 제한 (datajpa.admission.enabled=true)
+ * 가상 스레드는 수천 개가 동시에 getConnection()을 부를 수 있음
+ * -> 허가 수를 커넥션 풀 크기에 맞춰서 나머지는 세마포어 대기열에서 기다리게 함
+ * (H2 드라이버의 synchronized 구간에서 캐리어 스레드가 고정(pinning)되는 수도 풀 크기로 제한됨)
+ *
+ * 풀마다 허가(AdmissionControlDataSource)를 따로 둠 -> 풀 크기만큼, datajpa.admission.max-concurrent가 있으면 그보다 작게
+ * - BeanPostProcessor로 DataSource 빈을 감쌈
+ *   Ordered가 아니라서 p6spy의 DataSourceDecoratorBeanPostProcessor(Ordered) 다음에 실행 -> 가장 바깥
+ * - 라우팅 모드면 ReadWriteRoutingConfig가 프라이머리/복제본 풀마다 wrap
+ *   -> 복제본이 프라이머리 허가를 나눠 쓰지 않음, routingDataSource 빈은 이미 감싼 풀을 품고 있어서 그대로 둠
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.admission.enabled", havingValue = "true")
+public class ConnectionAdmission implements BeanPostProcessor {
+
+    private final int maxConcurrent;
+    private final int defaultPoolSize;
+    private final Duration timeout;
+
+    public ConnectionAdmission(@Value("${datajpa.admission.max-concurrent:0}") int maxConcurrent,
+                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int defaultPoolSize,
+                               @Value("${datajpa.admission.timeout:30s}") Duration timeout) {
+        this.maxConcurrent = maxConcurrent;
+        this.defaultPoolSize = defaultPoolSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && unwrap(dataSource, AdmissionControlDataSource.class) == null) {
+            HikariDataSource pool = unwrap(dataSource, HikariDataSource.class);
+            return wrap(dataSource, pool != null ? pool.getMaximumPoolSize() : defaultPoolSize);
+        }
+        return bean;
+    }
+
+    // poolSize -> dataSource가 커넥션을 받아오는 풀의 최대 크기
+    public AdmissionControlDataSource wrap(DataSource dataSource, int poolSize) {
+        int permits = maxConcurrent > 0 ? Math.min(maxConcurrent, poolSize) : poolSize;
+        return new AdmissionControlDataSource(dataSource, permits, timeout);
+    }
+
+    // p6spy/라우팅 프록시 안쪽, 없으면 null
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            log.debug("{} 확인 실패", type.getSimpleName(), e);
+            return null;
+        }
+    }
+}
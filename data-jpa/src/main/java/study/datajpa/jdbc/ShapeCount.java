@@ -0,0 +1,57 @@
+package study.datajpa.jdbc;
+
+// 범위 안에서 fingerprint 하나가 실행된 횟수와 어디서 실행됐는지
+public class ShapeCount {
+
+    private final String fingerprint;
+    private final String repositoryMethod;
+    private final boolean select;
+    private String caller;
+    private int count = 1;
+
+    ShapeCount(String fingerprint, String repositoryMethod) {
+        this.fingerprint = fingerprint;
+        this.repositoryMethod = repositoryMethod;
+        this.select = SqlFingerprint.isSelect(fingerprint);
+    }
+
+    void increment() {
+        count++;
+    }
+
+    void setCaller(String caller) {
+        this.caller = caller;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    // 처음 실행됐을 때의 레포지토리 메소드, 레포지토리 밖(지연 로딩)이면 null
+    public String getRepositoryMethod() {
+        return repositoryMethod;
+    }
+
+    // 반복이 시작된 애플리케이션 코드 위치 (두 번 이상 나온 select만)
+    public String getCaller() {
+        return caller;
+    }
+
+    public boolean isSelect() {
+        return select;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String origin() {
+        if (repositoryMethod != null && caller != null) {
+            return repositoryMethod + " @ " + caller;
+        }
+        if (repositoryMethod != null) {
+            return repositoryMethod;
+        }
+        return caller != null ? "lazy loading @ " + caller : "unknown";
+    }
+}
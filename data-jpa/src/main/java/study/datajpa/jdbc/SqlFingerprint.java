@@ -0,0 +1,96 @@
+package study.datajpa.jdbc;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQL을 "모양"으로 정규화 -> 바인드 값만 다른 쿼리는 같은 fingerprint가 됨
+ * - 문자열/숫자 리터럴 -> ?
+ * - in (?, ?, ?) -> in (?+)  (개수만 다른 IN 리스트)
+ * - 공백 정리 + 소문자
+ *
+ * PreparedStatement SQL 문자열은 종류가 많지 않아서 결과를 캐시해둠 (리터럴이 박힌 SQL이 폭주하면 캐시 안 함)
+ */
+public final class SqlFingerprint {
+
+    // 반복 그룹 (?:[^']|'')*는 글자마다 재귀라 긴 리터럴이면 StackOverflowError -> 소유 수량자로 펼쳐서 되돌아가지 않게
+    private static final Pattern STRING_LITERAL = Pattern.compile("'[^']*+(?:''[^']*+)*+'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int MAX_CACHED = 10_000;
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = normalize(sql);
+        if (CACHE.size() < MAX_CACHED) {
+            CACHE.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    // select next value for ..._seq (시퀀스로 id 할당)는 조회가 아님 -> N+1, select 수에서 뺌
+    public static boolean isSelect(String fingerprint) {
+        if (fingerprint.startsWith("select next value for")) {
+            return false;
+        }
+        return fingerprint.startsWith("select") || fingerprint.startsWith("with");
+    }
+
+    private static String normalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = WHITESPACE.matcher(result).replaceAll(" ").trim();
+        result = collapseInLists(result);
+        return result.toLowerCase(Locale.ROOT);
+    }
+
+    // (?, ?, ...) -> (?+)
+    // 정규식 반복 그룹은 반복마다 재귀라 IN 파라미터가 수천 개면 StackOverflowError -> 직접 훑음 (공백은 이미 한 칸으로 정리됨)
+    private static String collapseInLists(String sql) {
+        StringBuilder result = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            int end = sql.charAt(i) == '(' ? placeholderListEnd(sql, i + 1) : -1;
+            if (end < 0) {
+                result.append(sql.charAt(i++));
+            } else {
+                result.append("(?+)");
+                i = end;
+            }
+        }
+        return result.toString();
+    }
+
+    // from부터 "?(, ?)*)"면 ) 다음 위치, 아니면 -1
+    private static int placeholderListEnd(String sql, int from) {
+        int i = skipSpace(sql, from);
+        while (i < sql.length() && sql.charAt(i) == '?') {
+            i = skipSpace(sql, i + 1);
+            if (i < sql.length() && sql.charAt(i) == ')') {
+                return i + 1;
+            }
+            if (i >= sql.length() || sql.charAt(i) != ',') {
+                return -1;
+            }
+            i = skipSpace(sql, i + 1);
+        }
+        return -1;
+    }
+
+    private static int skipSpace(String sql, int i) {
+        return i < sql.length() && sql.charAt(i) == ' ' ? i + 1 : i;
+    }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.jdbc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SQL 실행 예산
+ * - 컨트롤러 메소드 -> 그 요청만 datajpa.statement-budget.* 기본값 대신 이 값으로 검사 (넘으면 WARN 로그)
+ * - 테스트 메소드/클래스 -> 넘으면 테스트 실패
+ * -1이면 제한 없음
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StatementBudget {
+
+    // 전체 SQL 수
+    int maxStatements() default -1;
+
+    // 같은 모양(바인드 값만 다른) select가 몇 번까지 허용되는지 -> 기본 1 = N+1 금지
+    int maxRepeated() default 1;
+}
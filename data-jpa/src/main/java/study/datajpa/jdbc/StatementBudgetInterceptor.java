@@ -0,0 +1,66 @@
+package study.datajpa.jdbc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.List;
+
+/**
+ * HTTP 요청 단위로 SQL 수를 세고 예산을 넘으면 WARN 로그 (운영에서는 실패시키지 않음)
+ * OSIV라 JSON 변환 중 지연 로딩까지 afterCompletion 전에 다 집계됨
+ */
+@Slf4j
+@Component
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE = StatementBudgetInterceptor.class.getName() + ".scope";
+
+    private final int maxStatements;
+    private final int maxRepeated;
+
+    public StatementBudgetInterceptor(@Value("${datajpa.statement-budget.max-statements:-1}") int maxStatements,
+                                      @Value("${datajpa.statement-budget.max-repeated:-1}") int maxRepeated) {
+        this.maxStatements = maxStatements;
+        this.maxRepeated = maxRepeated;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(SCOPE, StatementScope.open(request.getMethod() + " " + request.getRequestURI()));
+        return true;
+    }
+
+    // 비동기(스트리밍) 응답은 요청 스레드를 떠나니까 여기서 범위만 닫음
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementScope scope = (StatementScope) request.getAttribute(SCOPE);
+        if (scope != null) {
+            request.removeAttribute(SCOPE);
+            scope.close();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StatementScope scope = (StatementScope) request.getAttribute(SCOPE);
+        if (scope == null) {
+            return;
+        }
+        request.removeAttribute(SCOPE);
+        StatementReport report = scope.close();
+
+        StatementBudget budget = handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethodAnnotation(StatementBudget.class) : null;
+        List<String> violations = budget != null
+                ? report.violations(budget.maxStatements(), budget.maxRepeated())
+                : report.violations(maxStatements, maxRepeated);
+        if (!violations.isEmpty()) {
+            log.warn("SQL 예산 초과 {}\n  {}", report, String.join("\n  ", violations));
+        }
+    }
+}
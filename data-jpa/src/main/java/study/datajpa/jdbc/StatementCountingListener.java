@@ -0,0 +1,24 @@
+package study.datajpa.jdbc;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 이벤트 리스너 -> 실행된 SQL을 현재 StatementScope에 기록
+ * (p6spy-spring-boot-starter가 JdbcEventListener 빈을 자동으로 등록해줌)
+ * 열린 범위가 없으면 ThreadLocal 조회 한 번으로 끝
+ */
+@Component
+public class StatementCountingListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        StatementScope scope = StatementScope.current();
+        if (scope != null) {
+            scope.record(statementInformation.getSql());
+        }
+    }
+}
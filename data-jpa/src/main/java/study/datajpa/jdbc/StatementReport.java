@@ -0,0 +1,58 @@
+package study.datajpa.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 범위 하나의 SQL 집계 결과
+ * 예산: maxStatements -> 전체 SQL 수, maxRepeated -> 같은 모양 select 반복 수 (N+1), -1이면 제한 없음
+ */
+public class StatementReport {
+
+    private final String name;
+    private final int total;
+    private final List<ShapeCount> shapes;
+
+    StatementReport(String name, int total, List<ShapeCount> shapes) {
+        this.name = name;
+        this.total = total;
+        this.shapes = shapes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<ShapeCount> getShapes() {
+        return shapes;
+    }
+
+    public int selectCount() {
+        return shapes.stream().filter(ShapeCount::isSelect).mapToInt(ShapeCount::getCount).sum();
+    }
+
+    public List<String> violations(int maxStatements, int maxRepeated) {
+        List<String> violations = new ArrayList<>();
+        if (maxStatements >= 0 && total > maxStatements) {
+            violations.add("SQL " + total + "번 실행 (예산 " + maxStatements + ")");
+        }
+        if (maxRepeated >= 0) {
+            for (ShapeCount shape : shapes) {
+                if (shape.isSelect() && shape.getCount() > maxRepeated) {
+                    violations.add("같은 select " + shape.getCount() + "번 반복 (예산 " + maxRepeated + ") "
+                            + shape.origin() + " -> " + shape.getFingerprint());
+                }
+            }
+        }
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": SQL " + total + "번, 모양 " + shapes.size() + "개";
+    }
+}
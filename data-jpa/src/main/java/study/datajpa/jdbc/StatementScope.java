@@ -0,0 +1,102 @@
+package study.datajpa.jdbc;
+
+import study.datajpa.repository.support.RepositoryInvocationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스레드 단위 SQL 집계 범위 (HTTP 요청 하나, 테스트 메소드 하나)
+ * StatementCountingListener가 실행된 SQL을 현재 범위에 fingerprint별로 쌓음
+ * 범위가 중첩되면 바깥 범위에도 같이 집계됨
+ */
+public final class StatementScope {
+
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+    // 인프라 패키지 안이어도 호출 위치로 볼 클래스 (테스트 쪽에서 등록, StatementBudgetTestExecutionListener)
+    private static final Set<String> APPLICATION_CLASSES = ConcurrentHashMap.newKeySet();
+
+    private final String name;
+    private final StatementScope parent;
+    private final Map<String, ShapeCount> shapes = new LinkedHashMap<>();
+    private int total;
+    private boolean closed;
+
+    private StatementScope(String name, StatementScope parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    public static StatementScope open(String name) {
+        StatementScope scope = new StatementScope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static StatementScope current() {
+        return CURRENT.get();
+    }
+
+    public static void registerApplicationClass(Class<?> type) {
+        APPLICATION_CLASSES.add(type.getName());
+    }
+
+    public StatementReport close() {
+        if (!closed) {
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+        return new StatementReport(name, total, new ArrayList<>(shapes.values()));
+    }
+
+    void record(String sql) {
+        String fingerprint = SqlFingerprint.of(sql);
+        for (StatementScope scope = this; scope != null; scope = scope.parent) {
+            scope.add(fingerprint);
+        }
+    }
+
+    private void add(String fingerprint) {
+        total++;
+        ShapeCount shape = shapes.get(fingerprint);
+        if (shape == null) {
+            shapes.put(fingerprint, new ShapeCount(fingerprint, RepositoryInvocationContext.current()));
+            return;
+        }
+        shape.increment();
+        // 같은 select가 두 번째 나왔을 때만 스택을 봄 -> N+1 루프 위치를 잡으면서 평소 비용은 거의 없음
+        if (shape.getCount() == 2 && shape.isSelect() && shape.getCaller() == null) {
+            shape.setCaller(callerFrame());
+        }
+    }
+
+    // 프레임워크/SQL 집계, 레포지토리 지원 코드/생성된 프록시(Team$HibernateProxy, $$SpringCGLIB$$)를 빼고 가장 가까운 애플리케이션 코드 위치
+    private static String callerFrame() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> isApplicationFrame(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse(null));
+    }
+
+    private static boolean isApplicationFrame(String className) {
+        if (!className.startsWith("study.datajpa.") || className.contains("$HibernateProxy") || className.contains("$$")) {
+            return false;
+        }
+        boolean infrastructure = className.startsWith("study.datajpa.jdbc.") || className.startsWith("study.datajpa.repository.support.");
+        if (!infrastructure) {
+            return true;
+        }
+        int nested = className.indexOf('$');
+        return APPLICATION_CLASSES.contains(nested < 0 ? className : className.substring(0, nested));
+    }
+}
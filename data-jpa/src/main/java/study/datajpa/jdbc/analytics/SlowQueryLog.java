@@ -0,0 +1,67 @@
+package study.datajpa.jdbc.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.datajpa.dto.SlowQueryDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * slow-threshold를 넘은 SQL -> 바인드 값까지 WARN 로그 + 최근 size개를 링 버퍼에 보관
+ * 빠른 SQL은 문자열을 만들지 않음 (바인드 값이 들어간 SQL은 느린 것만 만듦)
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowQueryDto> recent;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowQueryLog(@Value("${datajpa.sql-analytics.slow-threshold:200ms}") Duration threshold,
+                        @Value("${datajpa.sql-analytics.slow-log-size:100}") int size) {
+        this.thresholdNanos = threshold.toNanos();
+        this.recent = new AtomicReferenceArray<>(size);
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    public void add(String fingerprint, String sqlWithValues, long nanos, String repository) {
+        String sql = sqlWithValues.length() > MAX_SQL_LENGTH
+                ? sqlWithValues.substring(0, MAX_SQL_LENGTH) + "..."
+                : sqlWithValues;
+        SlowQueryDto slowQuery = new SlowQueryDto(fingerprint, sql, nanos / 1_000_000.0, repository, Instant.now());
+        recent.set((int) (sequence.getAndIncrement() % recent.length()), slowQuery);
+        log.warn("느린 SQL {}ms ({}) {}", String.format("%.1f", slowQuery.getMillis()), repository, sql);
+    }
+
+    // 느린 순
+    public List<SlowQueryDto> snapshot() {
+        List<SlowQueryDto> result = new ArrayList<>();
+        for (int i = 0; i < recent.length(); i++) {
+            SlowQueryDto slowQuery = recent.get(i);
+            if (slowQuery != null) {
+                result.add(slowQuery);
+            }
+        }
+        result.sort(Comparator.comparingDouble(SlowQueryDto::getMillis).reversed());
+        return result;
+    }
+
+    public void reset() {
+        for (int i = 0; i < recent.length(); i++) {
+            recent.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package study.datajpa.jdbc.analytics;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import study.datajpa.dto.SlowQueryDto;
+import study.datajpa.dto.SqlFingerprintStatsDto;
+
+import java.util.List;
+
+/**
+ * GET    /actuator/sql?orderBy=p99&limit=10 -> 비싼 SQL 모양 top N + 최근 느린 SQL
+ * DELETE /actuator/sql                      -> 집계 초기화 (배포/부하 테스트 구간 나눌 때)
+ *
+ * 응답에 느린 SQL의 바인드 값(개인정보 등)이 그대로 있음 -> 웹 노출은 기본 꺼짐, 인증 뒤에서만 exposure.include에 추가
+ */
+@Component
+@Endpoint(id = "sql")
+public class SqlAnalyticsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlStats sqlStats;
+    private final SlowQueryLog slowQueryLog;
+
+    public SqlAnalyticsEndpoint(SqlStats sqlStats, SlowQueryLog slowQueryLog) {
+        this.sqlStats = sqlStats;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    // 잘못된 orderBy/limit -> 500이 아니라 400
+    @ReadOperation
+    public SqlAnalytics top(@Nullable String orderBy, @Nullable Integer limit) {
+        List<SqlFingerprintStatsDto> fingerprints;
+        try {
+            fingerprints = sqlStats.top(orderBy, limit == null ? DEFAULT_LIMIT : limit);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        return new SqlAnalytics(fingerprints, slowQueryLog.snapshot());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStats.reset();
+        slowQueryLog.reset();
+    }
+
+    public record SqlAnalytics(List<SqlFingerprintStatsDto> fingerprints, List<SlowQueryDto> slowQueries) {
+    }
+}
@@ -0,0 +1,38 @@
+package study.datajpa.jdbc.analytics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import study.datajpa.jdbc.SqlFingerprint;
+import study.datajpa.repository.support.RepositoryInvocationContext;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 이벤트 리스너 -> 실행된 SQL 전부를 fingerprint로 집계 (SqlStats), 느린 SQL은 바인드 값까지 보관 (SlowQueryLog)
+ * 결과는 /actuator/sql
+ * fingerprint는 SqlFingerprint 캐시에서 꺼내서 PreparedStatement는 정규식 비용이 처음 한 번뿐
+ */
+@Component
+@ConditionalOnProperty(name = "datajpa.sql-analytics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAnalyticsListener extends SimpleJdbcEventListener {
+
+    private final SqlStats sqlStats;
+    private final SlowQueryLog slowQueryLog;
+
+    public SqlAnalyticsListener(SqlStats sqlStats, SlowQueryLog slowQueryLog) {
+        this.sqlStats = sqlStats;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String fingerprint = SqlFingerprint.of(statementInformation.getSql());
+        sqlStats.record(fingerprint, timeElapsedNanos, e != null);
+        if (slowQueryLog.isSlow(timeElapsedNanos)) {
+            slowQueryLog.add(fingerprint, statementInformation.getSqlWithValues(), timeElapsedNanos,
+                    RepositoryInvocationContext.current());
+        }
+    }
+}
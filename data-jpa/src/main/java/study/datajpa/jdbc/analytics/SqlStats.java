@@ -0,0 +1,99 @@
+package study.datajpa.jdbc.analytics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.datajpa.dto.SqlFingerprintStatsDto;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * fingerprint별 실행 수, 에러 수, 총 시간, 최대 시간, p99 (SqlAnalyticsListener가 기록)
+ * 기록은 전부 LongAdder/원자 연산 -> 락 없음
+ * fingerprint 수는 max-fingerprints까지만, 넘치면 "(other)" 하나로 합침 (리터럴이 박힌 SQL이 폭주해도 메모리 고정)
+ */
+@Component
+public class SqlStats {
+
+    static final String OTHER = "(other)";
+
+    private final int maxFingerprints;
+    private final Map<String, FingerprintStats> stats = new ConcurrentHashMap<>();
+
+    public SqlStats(@Value("${datajpa.sql-analytics.max-fingerprints:1000}") int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    public void record(String fingerprint, long nanos, boolean error) {
+        FingerprintStats entry = stats.get(fingerprint);
+        if (entry == null) {
+            // 크기 확인과 추가가 원자적이지 않아서 동시에 몇 개 더 들어갈 수는 있음
+            String key = stats.size() < maxFingerprints ? fingerprint : OTHER;
+            entry = stats.computeIfAbsent(key, k -> new FingerprintStats());
+        }
+        entry.record(nanos, error);
+    }
+
+    // orderBy -> total(기본), count, p99, max, errors / 모르는 orderBy, 음수 limit -> IllegalArgumentException
+    public List<SqlFingerprintStatsDto> top(String orderBy, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit은 0 이상이어야 함: " + limit);
+        }
+        Comparator<SqlFingerprintStatsDto> comparator = comparator(orderBy);
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(comparator.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private static Comparator<SqlFingerprintStatsDto> comparator(String orderBy) {
+        return switch (orderBy == null ? "total" : orderBy) {
+            case "count" -> Comparator.comparingLong(SqlFingerprintStatsDto::getCount);
+            case "p99" -> Comparator.comparingDouble(SqlFingerprintStatsDto::getP99Millis);
+            case "max" -> Comparator.comparingDouble(SqlFingerprintStatsDto::getMaxMillis);
+            case "errors" -> Comparator.comparingLong(SqlFingerprintStatsDto::getErrors);
+            case "total" -> Comparator.comparingDouble(SqlFingerprintStatsDto::getTotalMillis);
+            default -> throw new IllegalArgumentException("orderBy는 total, count, p99, max, errors 중 하나: " + orderBy);
+        };
+    }
+
+    private static final class FingerprintStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        void record(long nanos, boolean error) {
+            count.increment();
+            if (error) {
+                errors.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.record(nanos);
+        }
+
+        SqlFingerprintStatsDto toDto(String fingerprint) {
+            long executions = count.sum();
+            double total = millis(totalNanos.sum());
+            return new SqlFingerprintStatsDto(fingerprint, executions, errors.sum(), total,
+                    executions == 0 ? 0 : total / executions,
+                    millis(histogram.percentile(0.99)), millis(maxNanos.get()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package study.datajpa.jdbc.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프라이머리/복제본 커넥션 풀과 라우팅 DataSource 묶음
+ * 풀들은 빈으로 등록하지 않음 -> DataSource 빈은 routing() 하나라서 JPA가 헷갈리지 않음 (p6spy는 ReadWriteRoutingConfig가 풀마다 씌움)
+ *
+ * LazyConnectionDataSourceProxy는 실제 커넥션을 첫 SQL까지 미룸
+ * -> 그 사이 트랜잭션 매니저가 setReadOnly(true)를 걸면(@Transactional(readOnly = true)) 복제본에서 커넥션을 받음
+ */
+public class ReadWriteDataSources implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicaPools;
+    private final ReplicaRoutingDataSource replicas;
+    private final LazyConnectionDataSourceProxy routing;
+    private final ScheduledExecutorService healthCheck;
+
+    // decoratedPrimary는 p6spy 등 데코레이터를 씌운 프라이머리 (쓰기 커넥션은 여기서), primary는 종료할 때 닫는 풀
+    public ReadWriteDataSources(HikariDataSource primary, DataSource decoratedPrimary, List<HikariDataSource> replicaPools,
+                                ReplicaRoutingDataSource replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicaPools = replicaPools;
+        this.replicas = replicas;
+
+        this.routing = new LazyConnectionDataSourceProxy(decoratedPrimary);
+        this.routing.setReadOnlyDataSource(replicas);
+
+        // 시작할 때 한 번 확인하고 나서 주기적으로
+        replicas.checkHealth();
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthCheck.scheduleWithFixedDelay(replicas::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource routing() {
+        return routing;
+    }
+
+    public ReplicaRoutingDataSource replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        replicaPools.forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
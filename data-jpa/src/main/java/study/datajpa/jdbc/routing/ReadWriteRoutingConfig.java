@@ -0,0 +1,86 @@
+package study.datajpa.jdbc.routing;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import study.datajpa.jdbc.ConnectionAdmission;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 분리 (datajpa.routing.enabled=true)
+ * - 쓰기, 일반 트랜잭션 -> spring.datasource (프라이머리)
+ * - 읽기 전용 트랜잭션 -> datajpa.routing.replicas 중 건강한 곳, 없으면 프라이머리
+ *
+ * 트랜잭션 없이 호출된 org.hibernate.readOnly 힌트 메소드는 ReadOnlyHintInterceptor가 읽기 전용 트랜잭션으로 감쌈
+ *
+ * p6spy는 커넥션을 받자마자 getMetaData().getURL()을 호출함 -> 라우팅 프록시를 감싸면 읽기 전용 표시 전에 실제 커넥션을 받아버림
+ * -> 데코레이터(p6spy)는 프라이머리/복제본 풀마다 직접 적용하고, 라우팅 빈(routingDataSource)은 decorator.datasource.exclude-beans로 뺌
+ * ConnectionAdmission 허가도 풀마다 따로 (복제본이 프라이머리 풀 크기에 묶이지 않게)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadWriteRoutingProperties.class)
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    public ReadWriteDataSources readWriteDataSources(DataSourceProperties dataSourceProperties,
+                                                     ReadWriteRoutingProperties routingProperties,
+                                                     Environment environment,
+                                                     ObjectProvider<DataSourceDecorator> decorators,
+                                                     ObjectProvider<ConnectionAdmission> admission) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        DataSource decoratedPrimary = decorate(primary, decorators, admission);
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            ReadWriteRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+            pool.setMaximumPoolSize(primary.getMaximumPoolSize());
+            // 복제본이 응답 없을 때 오래 붙잡혀 있지 않고 프라이머리로 넘어가게
+            pool.setConnectionTimeout(routingProperties.getHealthCheckTimeout().toMillis());
+            pool.setReadOnly(true);
+            pools.add(pool);
+            replicas.add(new ReplicaRoutingDataSource.Replica(pool.getPoolName(), decorate(pool, decorators, admission)));
+        }
+
+        ReplicaRoutingDataSource replicaRouting = new ReplicaRoutingDataSource(decoratedPrimary, replicas,
+                routingProperties.getLagQuery(), routingProperties.getMaxLag(), routingProperties.getHealthCheckTimeout());
+        return new ReadWriteDataSources(primary, decoratedPrimary, pools, replicaRouting, routingProperties.getHealthCheckInterval());
+    }
+
+    // 부트 기본 dataSource 대신 이 빈 하나만 DataSource로 등록
+    @Bean
+    public DataSource routingDataSource(ReadWriteDataSources readWriteDataSources) {
+        return readWriteDataSources.routing();
+    }
+
+    // p6spy 등 데코레이터, 그 바깥에 입장 제한 (빈으로 등록할 때 BeanPostProcessor들이 씌우는 순서와 같게)
+    private static DataSource decorate(HikariDataSource pool, ObjectProvider<DataSourceDecorator> decorators,
+                                       ObjectProvider<ConnectionAdmission> admission) {
+        DataSource decorated = pool;
+        for (DataSourceDecorator decorator : decorators.orderedStream().toList()) {
+            decorated = decorator.decorate(pool.getPoolName(), decorated);
+        }
+        ConnectionAdmission connectionAdmission = admission.getIfAvailable();
+        return connectionAdmission != null ? connectionAdmission.wrap(decorated, pool.getMaximumPoolSize()) : decorated;
+    }
+}
@@ -0,0 +1,35 @@
+package study.datajpa.jdbc.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * datajpa.routing.*
+ * replicas[n].url/username/password -> 읽기 전용 복제본 (username/password 생략하면 spring.datasource 값 사용)
+ * lag-query -> 복제본에서 실행해서 지연(초)을 받아오는 쿼리, 없으면 커넥션 유효성만 봄
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datajpa.routing")
+public class ReadWriteRoutingProperties {
+
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    private String lagQuery;
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
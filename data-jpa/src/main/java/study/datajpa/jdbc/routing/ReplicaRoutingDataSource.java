@@ -0,0 +1,174 @@
+package study.datajpa.jdbc.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 커넥션을 건강한 복제본에 라운드 로빈으로 나눠줌
+ * 쓸 수 있는 복제본이 없으면(다운, 지연이 max-lag 초과) 프라이머리로 보냄
+ *
+ * 상태는 checkHealth()가 갱신 (ReadWriteDataSources가 주기적으로 호출)
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final int timeoutSeconds;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, String lagQuery, Duration maxLag, Duration timeout) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.timeoutSeconds = (int) Math.max(timeout.toSeconds(), 1);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = pick();
+        if (replica != null) {
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException | RuntimeException e) {
+                // 다음 헬스 체크까지 기다리지 않고 바로 제외
+                replica.markDown(e.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("복제본 라우팅은 계정별 커넥션을 지원하지 않음");
+    }
+
+    private Replica pick() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection()) {
+            if (!connection.isValid(timeoutSeconds)) {
+                replica.markDown("유효하지 않은 커넥션");
+                return;
+            }
+            if (lagQuery == null) {
+                replica.markUp(0);
+                return;
+            }
+            long lag = queryLag(connection);
+            if (lag > maxLagSeconds) {
+                replica.markLagging(lag);
+            } else {
+                replica.markUp(lag);
+            }
+        } catch (SQLException | RuntimeException e) {
+            // 풀 초기화 실패(PoolInitializationException)도 다운으로 봄
+            replica.markDown(e.getMessage());
+        }
+    }
+
+    private long queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                return rs.next() ? rs.getLong(1) : Long.MAX_VALUE;
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    @Slf4j
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagSeconds = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void markUp(long lag) {
+            lagSeconds = lag;
+            if (!available) {
+                log.info("복제본 {} 사용 (지연 {}초)", name, lag);
+            }
+            available = true;
+        }
+
+        void markLagging(long lag) {
+            lagSeconds = lag;
+            if (available) {
+                log.warn("복제본 {} 지연 {}초 -> 프라이머리로 읽음", name, lag);
+            }
+            available = false;
+        }
+
+        void markDown(String reason) {
+            if (available) {
+                log.warn("복제본 {} 다운 -> 프라이머리로 읽음: {}", name, reason);
+            }
+            available = false;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public long getLagSeconds() {
+            return lagSeconds;
+        }
+    }
+}
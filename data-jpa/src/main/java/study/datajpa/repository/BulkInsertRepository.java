@@ -0,0 +1,13 @@
+package study.datajpa.repository;
+
+/**
+ * 대량 insert용 fragment -> MemberRepository, TeamRepository가 같이 씀
+ * 엔티티별 save()는 건마다 트랜잭션 + insert 한 번이라 대량 적재에는 너무 느림
+ */
+public interface BulkInsertRepository<T> {
+
+    // batch_size 단위로 flush + clear 하면서 insert를 JDBC batch로 묶어서 보냄
+    // 반환값 -> insert한 엔티티 수
+    // 주의: 중간에 em.clear()를 하기 때문에 호출한 쪽 영속성 컨텍스트의 엔티티도 전부 준영속이 됨
+    int saveAllInBatch(Iterable<? extends T> entities);
+}
@@ -0,0 +1,37 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+public class BulkInsertRepositoryImpl<T> implements BulkInsertRepository<T> {
+
+    private final EntityManager em;
+    private final int batchSize;
+
+    // hibernate.jdbc.batch_size와 같은 주기로 flush 해야 batch가 꽉 찬 상태로 나감
+    public BulkInsertRepositoryImpl(EntityManager em,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int saveAllInBatch(Iterable<? extends T> entities) {
+        int count = 0;
+        for (T entity : entities) {
+            // merge 없이 persist -> select 없이 insert만 쌓임
+            em.persist(entity);
+            if (++count % batchSize == 0) {
+                // hibernate.order_inserts=true 라서 flush 할 때 엔티티 타입별로 insert가 정렬되어 batch로 묶임
+                em.flush();
+                // 1차 캐시에 엔티티가 계속 쌓이지 않게 비워줌 -> 메모리, dirty checking 비용 일정하게 유지
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
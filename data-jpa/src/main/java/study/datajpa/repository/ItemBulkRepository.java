@@ -0,0 +1,19 @@
+package study.datajpa.repository;
+
+import study.datajpa.entity.Item;
+
+/**
+ * id를 직접 넣는 Item 대량 적재용 fragment
+ * save()는 isNew() 판단이 틀리면 merge -> 건마다 select 후 insert
+ * 여기는 엔티티 상태를 안 보고 JDBC batch로 바로 씀 -> select 없음
+ *
+ * 둘 다 영속성 컨텍스트를 거치지 않기 때문에 이미 로딩된 Item에는 반영 안 됨
+ */
+public interface ItemBulkRepository {
+
+    // insert만 -> 이미 있는 id면 예외 (DuplicateKeyException), 반환값 -> insert한 수
+    int insertAllInBatch(Iterable<? extends Item> items);
+
+    // MERGE -> 없는 id만 insert, 있는 id는 그대로 (createdDate 유지), 반환값 -> 처리한 수
+    int upsertAllInBatch(Iterable<? extends Item> items);
+}
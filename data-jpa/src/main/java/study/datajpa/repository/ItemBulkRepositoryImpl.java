@@ -0,0 +1,76 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Item;
+import study.datajpa.repository.support.EntityWriteNotifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItemBulkRepositoryImpl implements ItemBulkRepository {
+
+    private static final String INSERT = "insert into item (id, created_date) values (?, ?)";
+
+    // 표준 MERGE (H2, Oracle, SQL Server, PostgreSQL 15+) -> 조회 없이 DB가 한 번에 판단
+    // Item에 수정 가능한 컬럼이 생기면 when matched then update 추가
+    private static final String UPSERT = "merge into item t"
+            + " using (values (cast(? as varchar(255)), cast(? as timestamp(6)))) s (id, created_date)"
+            + " on t.id = s.id"
+            + " when not matched then insert (id, created_date) values (s.id, s.created_date)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityWriteNotifier writeNotifier;
+    private final int batchSize;
+
+    public ItemBulkRepositoryImpl(EntityManager em, JdbcTemplate jdbcTemplate, EntityWriteNotifier writeNotifier,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeNotifier = writeNotifier;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int insertAllInBatch(Iterable<? extends Item> items) {
+        return write(INSERT, items);
+    }
+
+    @Override
+    @Transactional
+    public int upsertAllInBatch(Iterable<? extends Item> items) {
+        return write(UPSERT, items);
+    }
+
+    // JpaTransactionManager가 JDBC 커넥션을 같이 열어둠 -> JdbcTemplate도 같은 트랜잭션
+    private int write(String sql, Iterable<? extends Item> items) {
+        // 영속성 컨텍스트에 쌓인 insert가 있으면 먼저 보내서 순서를 맞춤
+        em.flush();
+
+        // 감사 시간은 호출당 한 번 (AuditingEntityListener를 안 거침)
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        for (Item item : items) {
+            batch.add(new Object[]{item.getId(), now});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            count += batch.size();
+        }
+
+        // Hibernate를 안 거친 쓰기 -> @Modifying 벌크와 같이 취급 (CountCache, 2차 캐시)
+        writeNotifier.notifyWrite(Item.class, true);
+        return count;
+    }
+}
@@ -0,0 +1,74 @@
+package study.datajpa.repository;
+
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋(seek) 페이징 커서
+ * 정렬 키(username) + member_id(같은 username끼리 순서를 정하는 tiebreaker)를 묶어서
+ * 클라이언트에게는 불투명한 문자열로 내려줌
+ *
+ * 인코딩 형식 -> base64url("{id}:{username}")
+ * id에는 ':'가 들어갈 수 없으니까 첫번째 ':' 기준으로 자르면 username에 ':'가 있어도 안전함
+ */
+public final class MemberCursor {
+
+    private final String username;
+    private final Long id;
+
+    public MemberCursor(String username, Long id) {
+        if (username == null || id == null) {
+            throw new IllegalArgumentException("커서에는 username과 id가 모두 필요함");
+        }
+        this.username = username;
+        this.id = id;
+    }
+
+    // 페이지의 마지막 회원으로 다음 페이지 커서를 만듦
+    public static MemberCursor of(Member member) {
+        return new MemberCursor(member.getUsername(), member.getId());
+    }
+
+    public static MemberCursor of(MemberDto member) {
+        return new MemberCursor(member.getUsername(), member.getId());
+    }
+
+    // 빈 값이면 첫 페이지 -> null
+    public static MemberCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("커서 형식이 아님");
+            }
+            return new MemberCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = id + ":" + username;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -2,20 +2,34 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.support.BulkUpdateResult;
+import study.datajpa.repository.support.ChunkOptions;
+import study.datajpa.repository.support.ChunkedBulkUpdater;
+import study.datajpa.repository.support.CountCache;
+import study.datajpa.repository.support.EntityWriteNotifier;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    // 순수 JPA 레포지토리는 Spring Data 프록시를 안 타니까 쓰기 알림을 직접 보냄
+    private final EntityWriteNotifier writeNotifier;
+    private final CountCache countCache;
+    private final ChunkedBulkUpdater chunkedBulkUpdater;
+
     public Member save(Member member){
         em.persist(member);
+        writeNotifier.notifyWrite(Member.class, false);
         return member;
     }
 
@@ -25,6 +39,7 @@ public class MemberJpaRepository {
 
     public void delete(Member member){
         em.remove(member);
+        writeNotifier.notifyWrite(Member.class, false);
     }
 
     public List<Member> findAll(){
@@ -58,15 +73,25 @@ public class MemberJpaRepository {
                 .getResultList();
     }
 
+    // MemberRepository.findByAgeWithCachedCount와 같은 캐시 키를 씀
     public long totalCount(int age){
-        return em.createQuery("select count(m) from member m where m.age = :age", Long.class)
-                .setParameter("age", age)
-                .getSingleResult();
+        return countCache.count(Member.class, "age=" + age,
+                () -> em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult());
     }
 
     public int bulkAgePlus(int age){
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+        String jpql = "update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age";
+        int resultCount = em.createQuery(jpql)
                 .setParameter("age", age)
                 .executeUpdate();
+        writeNotifier.notifyBulkWrite(Member.class, jpql);
+        return resultCount;
+    }
+
+    // 큰 테이블에서는 member_id 범위로 나눠서 청크마다 커밋
+    public BulkUpdateResult bulkAgePlusChunked(int age, ChunkOptions options){
+        return chunkedBulkUpdater.update(Member.class, MemberRepositoryImpl.BULK_AGE_PLUS_CHUNK, Map.of("age", age), options);
     }
 }
@@ -0,0 +1,133 @@
+package study.datajpa.repository;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.datajpa.dto.CursorPage;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+
+import java.util.List;
+
+/**
+ * MemberRepository 읽기 메소드의 리액티브 버전 (R2DBC, datajpa.reactive.enabled=true일 때만)
+ * 같은 member/team 테이블을 SQL로 직접 읽어서 Member, MemberDto로 매핑
+ * -> JPA 영속성 컨텍스트 밖이라 team은 채우지 않고, 변경 감지/지연 로딩 없음 (조회 전용)
+ *
+ * 결과는 구독자가 request한 만큼 row를 받아서 내려보냄
+ * streamByAge는 키셋 페이지를 수요가 생길 때마다 한 페이지씩 조회
+ *
+ * r2dbc-h2는 내부적으로 H2 엔진을 호출하는 래퍼라서 완전한 논블로킹 드라이버는 아님
+ *
+ * 커넥션 풀은 빈으로 내놓지 않고 여기서만 씀
+ * -> ConnectionFactory 빈이 있으면 부트의 DataSourceAutoConfiguration(JPA 쪽)이 빠짐
+ * r2dbc:h2 URL은 file/mem만 받아서 tcp 서버에 못 붙음 -> spring.datasource.url의 H2 URL로 직접 설정 (같은 DB)
+ * 다른 DB면 그 DB의 R2DBC 드라이버로 여기를 바꿔야 됨 (그 전엔 끈 채로)
+ */
+@Repository
+@ConditionalOnProperty(name = "datajpa.reactive.enabled", havingValue = "true")
+public class MemberReactiveRepository implements DisposableBean {
+
+    private static final String MEMBER_COLUMNS = "select m.member_id, m.username, m.age from member m";
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    public MemberReactiveRepository(DataSourceProperties dataSourceProperties,
+                                    @Value("${datajpa.reactive.max-size:10}") int maxSize) {
+        this.pool = pool(dataSourceProperties, maxSize);
+        this.client = DatabaseClient.create(pool);
+    }
+
+    public Flux<Member> findByUsername(String username) {
+        return client.sql(MEMBER_COLUMNS + " where m.username = :username")
+                .bind("username", username)
+                .map(MemberReactiveRepository::member)
+                .all();
+    }
+
+    // MemberRepository.findByAgeKeyset과 같은 순서 (username asc, member_id asc)
+    public Mono<CursorPage<Member>> findByAgeKeyset(int age, MemberCursor after, int size) {
+        if (size < 1) {
+            return Mono.error(new IllegalArgumentException("size는 1 이상이어야 함: " + size));
+        }
+        String sql = MEMBER_COLUMNS + " where m.age = :age"
+                + (after == null ? "" : " and (m.username > :username or (m.username = :username and m.member_id > :id))")
+                + " order by m.username asc, m.member_id asc limit :limit";
+
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql)
+                .bind("age", age)
+                .bind("limit", size + 1);
+        if (after != null) {
+            spec = spec.bind("username", after.getUsername()).bind("id", after.getId());
+        }
+
+        // size + 1개 읽어서 다음 페이지 유무 확인
+        return spec.map(MemberReactiveRepository::member)
+                .all()
+                .collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > size;
+                    List<Member> content = hasNext ? rows.subList(0, size) : rows;
+                    String nextCursor = hasNext ? MemberCursor.of(content.get(size - 1)).encode() : null;
+                    return new CursorPage<>(content, nextCursor, hasNext);
+                });
+    }
+
+    // 해당 나이 회원 전체를 키셋 페이지 단위로 흘려보냄
+    // 다음 페이지는 앞 페이지를 다 내려보낸 뒤 구독자가 더 요청할 때 조회 (prefetch 1)
+    public Flux<Member> streamByAge(int age, int pageSize) {
+        return findByAgeKeyset(age, null, pageSize)
+                .expand(page -> page.isHasNext()
+                        ? findByAgeKeyset(age, MemberCursor.decode(page.getNextCursor()), pageSize)
+                        : Mono.empty())
+                .concatMapIterable(CursorPage::getContent, 1);
+    }
+
+    // MemberRepository.findMemberDto와 같은 결과 (팀이 있는 회원만)
+    public Flux<MemberDto> findMemberDto() {
+        return client.sql("select m.member_id, m.username, t.name from member m join team t on m.team_id = t.team_id")
+                .map(row -> new MemberDto(row.get("member_id", Long.class), row.get("username", String.class),
+                        row.get("name", String.class)))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static ConnectionPool pool(DataSourceProperties dataSourceProperties, int maxSize) {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith(H2_JDBC_PREFIX)) {
+            throw new IllegalStateException("리액티브 읽기는 H2만 지원함 (datajpa.reactive.enabled=false로 끌 것): " + url);
+        }
+        H2ConnectionConfiguration.Builder configuration = H2ConnectionConfiguration.builder()
+                .url(url.substring(H2_JDBC_PREFIX.length()))
+                .username(dataSourceProperties.determineUsername());
+        String password = dataSourceProperties.determinePassword();
+        if (password != null) {
+            configuration.password(password);
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(new H2ConnectionFactory(configuration.build()))
+                .maxSize(maxSize)
+                .build());
+    }
+
+    private static Member member(Readable row) {
+        Member member = new Member(row.get("username", String.class), row.get("age", Integer.class));
+        member.setId(row.get("member_id", Long.class));
+        return member;
+    }
+}
@@ -9,11 +9,14 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.support.FetchTuning;
+import study.datajpa.repository.support.UsernameLookup;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRepositoryCustom, BulkInsertRepository<Member> {
 
     // 1. 메소드 쿼리
     // 자동으로 sql 작성해주는데 너무 길다~ ->
@@ -26,14 +29,34 @@ public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRe
     @Query("select m from Member m where m.username = :username and m.age = :age")
     List<Member> findUser(@Param("username")String username, @Param("age") int age);
 
+    // 대시보드에서 계속 부르는 읽기 위주 쿼리 -> 쿼리 결과 캐시
+    // 쿼리 + 파라미터로 캐시되고 member/team 테이블에 쓰기가 생기면(벌크 포함) 자동 무효화
+    // readOnly 힌트 -> 읽기/쓰기 분리 시 복제본에서 조회 (ReadOnlyHintInterceptor)
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
     @Query("select m.username from Member m")
     List<String> findUsernameList();
 
 
     //Dto로 반환 Dto 반환 시 new 로 가져올 필드명 명시
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
     @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    // 전체 export용 스트림
+    // DTO로 바로 받아서 영속성 컨텍스트에 엔티티가 안 쌓이고, fetchSize 단위로 JDBC에서 끊어 읽음 (scroll)
+    // Stream 반환은 트랜잭션 안에서 써야 되고 다 쓰면 반드시 close
+    @QueryHints(value = {
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t order by m.id")
+    Stream<MemberDto> streamMemberDto();
+
+    // IN 파라미터 개수는 2의 거듭제곱으로 패딩됨 (in_clause_parameter_padding), 큰 리스트는 findByNamesChunked
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("select m from Member m where m.username in :names")
     List<Member> findByNames(@Param("names") List<String> names);
 
@@ -56,9 +79,13 @@ public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRe
      *  결과 1개 -> Optional.of(member)
      *  결과 2개 -> 예외 발생
      */
+    // 로그인 경로 단건 조회 -> @UsernameLookup (없는 username은 Bloom filter로 DB 안 감, 찾은 건 id near-cache)
+    // datajpa.username-index.enabled=true일 때만, 아니면 그냥 쿼리
+    @UsernameLookup
     Member findMemberByUsername(String username);
 
     // 단건 Optional
+    @UsernameLookup
     Optional<Member> findOptionalByUsername(String username);
 
 
@@ -92,8 +119,9 @@ public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRe
     // JPQL은 update/delete와 select를 다른 쿼리로 판단함 -> 쿼리 실행 수 excuateUpdate()하는 역할
     // clearAutomatically= true를 통해 1차 캐시를 날려버림
 
+    // @Version -> 버전도 같이 올려야 벌크 전에 읽어둔 엔티티의 수정이 충돌(낙관적 락)로 잡힘
     @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age")
     int bilkAgePlus(@Param("age") int age);
     // 반환 값으로 해당 연산에 영향을 받은 row를 반환함
 
@@ -125,6 +153,10 @@ public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRe
     @Query("select m from Member m")
     List<Member> findMemberEntityGraph();
 
+    // 페치 조인 대신 배치 페치 -> 페이징이 되고 팀 select는 250개씩 묶어서
+    @FetchTuning(batchSize = 250)
+    List<Member> findTeamBatchByAge(int age);
+
     // 근데 이거까지는 잘 사용하지 않음
     @EntityGraph(attributePaths = {"team"} )
 //    @EntityGraph("Member.all") // 엔티티에서 fetch전략 정의 후 재활용
@@ -134,9 +166,11 @@ public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRe
     // JPA Hint -> hibernate에서 제공
     // 조회 할 때 스냅샷 객체를 만들지 않고
    @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true") )
+   @UsernameLookup
     Member findReadonlyByUsername(String username);
 
    // Lock -> jpa에서 제공
+   // select ... for update라 같은 row를 쓰는 트랜잭션이 줄을 섬 -> 충돌이 드물면 @Version + OptimisticRetryExecutor
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
@@ -146,6 +180,7 @@ public interface MemberRepository  extends JpaRepository<Member, Long>, MemberRe
 
     //Native Query
     @Query(value="select * from member where username =?", nativeQuery = true)
+    @UsernameLookup
     Member findByNativeQuery(String username);
 
 }
@@ -1,9 +1,51 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.support.BulkUpdateResult;
+import study.datajpa.repository.support.ChunkOptions;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    // 키셋(seek) 페이징 -> username asc, member_id asc 순서
+    // after가 null이면 첫 페이지
+    Slice<Member> findMemberKeyset(MemberCursor after, int size);
+
+    Slice<Member> findByAgeKeyset(int age, MemberCursor after, int size);
+
+    // findMemberKeyset을 DTO로 바로 조회 (team은 left join -> 팀 없는 회원은 teamName null)
+    Slice<MemberDto> findMemberDtoKeyset(MemberCursor after, int size);
+
+    // count 쿼리 최적화 페이징
+    // 1. 마지막 페이지처럼 content만 보고 total을 알 수 있으면 count 쿼리 생략
+    // 2. 아니면 CountCache에서 조건별로 캐시된 count 사용 (TTL, 쓰기 발생 시 무효화)
+    Page<Member> findAllWithCachedCount(Pageable pageable);
+
+    Page<Member> findByAgeWithCachedCount(int age, Pageable pageable);
+
+    // MemberRepository의 파생 쿼리 findByAge를 이 구현으로 대체 -> content/count 동시 실행(ConcurrentPageExecutor)
+    // 쿼리는 파생 쿼리와 같음 (where m.age = :age + Pageable 정렬), count 캐시는 안 씀
+    Page<Member> findByAge(int age, Pageable pageable);
+
+    // 엔티티 대신 DTO로 바로 조회하는 페이징 (team은 left join -> 팀 없는 회원은 teamName null)
+    // 영속성 컨텍스트에 올라가지 않아서 스냅샷/더티체킹/프록시 비용이 없음, count는 findAllWithCachedCount와 같은 캐시 사용
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    // bilkAgePlus를 member_id 범위 청크로 나눠서 실행 (청크마다 커밋) -> ChunkedBulkUpdater
+    BulkUpdateResult bulkAgePlusChunked(int age, ChunkOptions options);
+
+    // findByNames를 중복 제거 후 datajpa.in-list.chunk-size개씩 나눠서 순차 조회 -> InListExecutor
+    // 이름이 수백 개 이상이면 이걸로
+    List<Member> findByNamesChunked(Collection<String> names);
+
+    // findByNamesChunked와 같은데 트랜잭션 밖이면 청크를 동시에 (커넥션을 datajpa.in-list.parallelism개까지 더 씀)
+    // 결과는 준영속 -> OSIV여도 team 같은 지연 로딩 연관은 못 씀, 필요한 값만 바로 꺼내 쓸 때만
+    List<Member> findByNamesParallel(Collection<String> names);
 }
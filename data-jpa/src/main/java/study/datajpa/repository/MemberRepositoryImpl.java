@@ -1,15 +1,42 @@
 package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.support.BulkUpdateResult;
+import study.datajpa.repository.support.ChunkOptions;
+import study.datajpa.repository.support.ChunkedBulkUpdater;
+import study.datajpa.repository.support.ConcurrentPageExecutor;
+import study.datajpa.repository.support.CountCache;
+import study.datajpa.repository.support.InListExecutor;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    // bilkAgePlus의 청크 버전 (MemberJpaRepository도 같이 씀)
+    static final String BULK_AGE_PLUS_CHUNK =
+            "update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age and m.id >= :fromId and m.id < :toId";
+
     private final EntityManager em;
+    private final CountCache countCache;
+    private final ChunkedBulkUpdater chunkedBulkUpdater;
+    private final ConcurrentPageExecutor concurrentPageExecutor;
+    private final InListExecutor inListExecutor;
 
 
     @Override
@@ -17,4 +44,141 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
        return em.createQuery("select m from Member m")
                .getResultList();
     }
+
+    @Override
+    public Slice<Member> findMemberKeyset(MemberCursor after, int size) {
+        return keysetSlice("select m from Member m", Member.class, null, after, size);
+    }
+
+    @Override
+    public Slice<Member> findByAgeKeyset(int age, MemberCursor after, int size) {
+        return keysetSlice("select m from Member m", Member.class, age, after, size);
+    }
+
+    @Override
+    public Slice<MemberDto> findMemberDtoKeyset(MemberCursor after, int size) {
+        return keysetSlice("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t",
+                MemberDto.class, null, after, size);
+    }
+
+    @Override
+    public Page<Member> findAllWithCachedCount(Pageable pageable) {
+        TypedQuery<Member> query = em.createQuery(
+                QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m"), Member.class);
+        return page(query, pageable, "all",
+                () -> em.createQuery("select count(m) from Member m", Long.class)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Page<Member> findByAgeWithCachedCount(int age, Pageable pageable) {
+        TypedQuery<Member> query = em.createQuery(
+                QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m"), Member.class)
+                .setParameter("age", age);
+        return page(query, pageable, "age=" + age,
+                () -> em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Page<Member> findByAge(int age, Pageable pageable) {
+        TypedQuery<Member> query = em.createQuery(
+                QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m"), Member.class)
+                .setParameter("age", age);
+        paging(query, pageable);
+        return concurrentPageExecutor.page(pageable, query::getResultList,
+                () -> em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Page<MemberDto> findMemberDtoPage(Pageable pageable) {
+        // 정렬 속성은 Member 기준 (m.username 등)
+        TypedQuery<MemberDto> query = em.createQuery(
+                QueryUtils.applySorting("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name)" +
+                        " from Member m left join m.team t", pageable.getSort(), "m"), MemberDto.class);
+        // left join이라 row 수가 회원 수와 같음 -> count는 join 없이
+        return page(query, pageable, "all",
+                () -> em.createQuery("select count(m) from Member m", Long.class)
+                        .getSingleResult());
+    }
+
+    @Override
+    public BulkUpdateResult bulkAgePlusChunked(int age, ChunkOptions options) {
+        return chunkedBulkUpdater.update(Member.class, BULK_AGE_PLUS_CHUNK, Map.of("age", age), options);
+    }
+
+    @Override
+    public List<Member> findByNamesChunked(Collection<String> names) {
+        return inListExecutor.execute(names, this::findByNameChunk);
+    }
+
+    @Override
+    public List<Member> findByNamesParallel(Collection<String> names) {
+        return inListExecutor.executeParallel(names, this::findByNameChunk);
+    }
+
+    private List<Member> findByNameChunk(List<String> chunk) {
+        return em.createQuery("select m from Member m where m.username in :names", Member.class)
+                .setParameter("names", chunk)
+                .getResultList();
+    }
+
+    // content는 항상 조회, count는 PageableExecutionUtils가 필요하다고 판단할 때만 캐시를 거쳐서 조회
+    // count가 캐시에 없으면 content와 count를 동시에 실행 (ConcurrentPageExecutor, 조건이 안 맞으면 순차)
+    private <T> Page<T> page(TypedQuery<T> query, Pageable pageable, String countPredicate, LongSupplier count) {
+        paging(query, pageable);
+        LongSupplier cachedCount = () -> countCache.count(Member.class, countPredicate, count);
+        if (countCache.isCached(Member.class, countPredicate)) {
+            return PageableExecutionUtils.getPage(query.getResultList(), pageable, cachedCount);
+        }
+        return concurrentPageExecutor.page(pageable, query::getResultList, cachedCount);
+    }
+
+    private static void paging(TypedQuery<?> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+    }
+
+    // offset 페이징은 앞 페이지 row를 전부 읽고 버려서 뒤로 갈수록 느려짐
+    // 키셋은 마지막으로 본 (username, id) 다음부터 읽기 때문에 몇 번째 페이지든 비용이 같음
+    // username이 null인 회원은 키셋 조건에 걸리지 않음
+    // select -> 별칭 m으로 Member를 조회하는 select ~ from 절 (조건, 정렬은 여기서 붙임)
+    private <T> Slice<T> keysetSlice(String select, Class<T> type, Integer age, MemberCursor after, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 함: " + size);
+        }
+
+        List<String> where = new ArrayList<>();
+        if (age != null) {
+            where.add("m.age = :age");
+        }
+        if (after != null) {
+            where.add("(m.username > :username or (m.username = :username and m.id > :id))");
+        }
+        String jpql = select
+                + (where.isEmpty() ? "" : " where " + String.join(" and ", where))
+                + " order by m.username asc, m.id asc";
+
+        TypedQuery<T> query = em.createQuery(jpql, type);
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+        if (after != null) {
+            query.setParameter("username", after.getUsername());
+            query.setParameter("id", after.getId());
+        }
+
+        // Slice처럼 size + 1개를 가져와서 다음 페이지 유무만 확인함
+        List<T> content = query.setMaxResults(size + 1).getResultList();
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
 }
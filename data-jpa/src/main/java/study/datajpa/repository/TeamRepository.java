@@ -1,7 +1,18 @@
 package study.datajpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import study.datajpa.entity.Team;
+import study.datajpa.repository.support.FetchTuning;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
+import java.util.List;
+
+public interface TeamRepository extends JpaRepository<Team, Long>, BulkInsertRepository<Team> {
+
+    // 팀 목록을 받아서 members까지 도는 화면용
+    // -> members를 "이 쿼리를 서브쿼리로 넣은 select" 한 번으로 전부 채움 (팀 수와 상관없이 2번)
+    @FetchTuning(subselect = true)
+    @Query("select t from Team t where t.name like concat(:prefix, '%')")
+    List<Team> findByNamePrefix(@Param("prefix") String prefix);
 }
@@ -0,0 +1,86 @@
+package study.datajpa.repository.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 Bloom filter
+ * mightContain이 false면 확실히 없음, true면 "있을 수도" (오탐률은 생성 시 fpp, 예상 수를 넘게 넣으면 올라감)
+ * put/mightContain 모두 락 없음 (비트 OR는 원자 연산)
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    // 비트 수 m = -n ln p / (ln 2)^2, 해시 수 k = m / n * ln 2
+    static BloomFilter create(long expectedInsertions, double fpp) {
+        long n = Math.max(expectedInsertions, 1);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bits);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 지금 채워진 비트 비율로 계산한 오탐률 (fill ratio ^ k)
+    double expectedFpp() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bits, hashes);
+    }
+
+    long byteSize() {
+        return words.length() * 8L;
+    }
+
+    // FNV-1a 64 + 마무리 섞기 (String.hashCode는 32비트라 큰 필터에서 분포가 나쁨)
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB2FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,11 @@
+package study.datajpa.repository.support;
+
+import java.time.Duration;
+
+public record BulkUpdateResult(long affectedRows, long chunks, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? affectedRows : affectedRows * 1000.0 / millis;
+    }
+}
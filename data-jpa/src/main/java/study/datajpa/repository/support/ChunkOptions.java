@@ -0,0 +1,45 @@
+package study.datajpa.repository.support;
+
+import java.util.function.Consumer;
+
+/**
+ * ChunkedBulkUpdater 옵션
+ * - chunkSize        : 한 트랜잭션에서 바꿀 id 범위 크기
+ * - parallelism      : id 범위를 나눈 파티션 수 (파티션마다 스레드 하나, 커넥션 하나)
+ * - maxRowsPerSecond : 전체 처리량 상한, 0이면 제한 없음
+ * - progress         : 청크가 커밋될 때마다 호출 (parallelism > 1이면 여러 스레드에서 동시에 호출됨)
+ */
+public record ChunkOptions(int chunkSize, int parallelism, long maxRowsPerSecond, Consumer<ChunkProgress> progress) {
+
+    public ChunkOptions {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 함: " + chunkSize);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism은 1 이상이어야 함: " + parallelism);
+        }
+        if (maxRowsPerSecond < 0) {
+            throw new IllegalArgumentException("maxRowsPerSecond는 0 이상이어야 함: " + maxRowsPerSecond);
+        }
+        if (progress == null) {
+            progress = p -> {
+            };
+        }
+    }
+
+    public static ChunkOptions ofChunkSize(int chunkSize) {
+        return new ChunkOptions(chunkSize, 1, 0, null);
+    }
+
+    public ChunkOptions withParallelism(int parallelism) {
+        return new ChunkOptions(chunkSize, parallelism, maxRowsPerSecond, progress);
+    }
+
+    public ChunkOptions withMaxRowsPerSecond(long maxRowsPerSecond) {
+        return new ChunkOptions(chunkSize, parallelism, maxRowsPerSecond, progress);
+    }
+
+    public ChunkOptions withProgress(Consumer<ChunkProgress> progress) {
+        return new ChunkOptions(chunkSize, parallelism, maxRowsPerSecond, progress);
+    }
+}
@@ -0,0 +1,5 @@
+package study.datajpa.repository.support;
+
+// 커밋된 청크 하나 [fromId, toId) + 지금까지 누적
+public record ChunkProgress(long fromId, long toId, int rows, long totalRows, long completedChunks, long totalChunks) {
+}
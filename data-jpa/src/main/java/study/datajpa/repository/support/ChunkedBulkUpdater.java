@@ -0,0 +1,207 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벌크 update를 id 범위 청크로 나눠서 실행
+ * update ... where m.age >= :age 한 방은 큰 테이블에서 row 락을 오래 잡고 있음
+ * -> [fromId, toId) 범위마다 새 트랜잭션(REQUIRES_NEW)으로 커밋해서 락을 짧게 잡고 바로 놓음
+ *
+ * 청크마다 독립 커밋이라 중간에 실패하면 앞 청크는 반영된 상태로 남음 (같은 조건으로 다시 돌려도 되는 update에만 사용)
+ * 호출한 쪽 트랜잭션이 같은 row에 락을 잡고 있으면 청크 트랜잭션이 기다리다 데드락 -> 트랜잭션 밖에서 호출
+ */
+@Slf4j
+@Component
+public class ChunkedBulkUpdater {
+
+    private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final EntityManager em;
+    private final TransactionTemplate chunkTransaction;
+    private final EntityWriteNotifier writeNotifier;
+
+    public ChunkedBulkUpdater(EntityManager em, PlatformTransactionManager transactionManager, EntityWriteNotifier writeNotifier) {
+        this.em = em;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writeNotifier = writeNotifier;
+    }
+
+    /**
+     * jpql은 :fromId 이상 :toId 미만인 id만 바꾸도록 작성
+     * 예) update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age and m.id >= :fromId and m.id < :toId
+     */
+    public BulkUpdateResult update(Class<?> domainType, String jpql, Map<String, ?> parameters, ChunkOptions options) {
+        long start = System.nanoTime();
+        long[] range = idRange(domainType);
+        if (range == null) {
+            return new BulkUpdateResult(0, 0, Duration.ZERO);
+        }
+
+        long minId = range[0];
+        long totalChunks = ceilDiv(range[1] - minId + 1, options.chunkSize());
+        int partitions = (int) Math.min(options.parallelism(), totalChunks);
+        long chunksPerPartition = ceilDiv(totalChunks, partitions);
+
+        Run run = new Run(domainType, jpql, parameters, options, totalChunks);
+        if (partitions == 1) {
+            run.partition(minId, 0, totalChunks);
+        } else {
+            runPartitions(run, minId, partitions, chunksPerPartition, totalChunks);
+        }
+
+        // clearAutomatically = true와 같음 -> 호출한 쪽 영속성 컨텍스트에 남은 옛날 값 제거
+        em.clear();
+        writeNotifier.notifyBulkWrite(domainType, jpql);
+
+        BulkUpdateResult result = new BulkUpdateResult(run.rows.get(), run.completed.get(), Duration.ofNanos(System.nanoTime() - start));
+        log.info("청크 벌크 업데이트 {} -> rows={} chunks={} elapsed={}ms", domainType.getSimpleName(),
+                result.affectedRows(), result.chunks(), result.elapsed().toMillis());
+        return result;
+    }
+
+    private void runPartitions(Run run, long minId, int partitions, long chunksPerPartition, long totalChunks) {
+        List<Future<?>> futures = new ArrayList<>();
+        // 파티션은 대부분 커넥션 대기라 가상 스레드로 충분
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < partitions; p++) {
+                long fromChunk = p * chunksPerPartition;
+                long toChunk = Math.min(fromChunk + chunksPerPartition, totalChunks);
+                futures.add(executor.submit(() -> run.partition(minId, fromChunk, toChunk)));
+            }
+            RuntimeException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    run.stopped.set(true);
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("청크 벌크 업데이트 중 인터럽트 (" + run.rows.get() + "건 반영)", e);
+                }
+            }
+            if (failure != null) {
+                log.warn("청크 벌크 업데이트 실패 -> {}건 반영 후 중단", run.rows.get());
+                throw failure;
+            }
+        }
+    }
+
+    // 전체 id 범위, 테이블이 비어 있으면 null
+    private long[] idRange(Class<?> domainType) {
+        EntityType<?> entity = em.getMetamodel().entity(domainType);
+        String id = entity.getId(entity.getIdType().getJavaType()).getName();
+        Object[] minMax = (Object[]) em.createQuery("select min(e." + id + "), max(e." + id + ") from " + entity.getName() + " e")
+                .getSingleResult();
+        if (minMax[0] == null) {
+            return null;
+        }
+        return new long[]{((Number) minMax[0]).longValue(), ((Number) minMax[1]).longValue()};
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    // update 한 번에 대한 상태 (파티션 스레드끼리 공유)
+    private final class Run {
+
+        private final Class<?> domainType;
+        private final String jpql;
+        private final Map<String, ?> parameters;
+        private final ChunkOptions options;
+        private final long totalChunks;
+
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        // 처리량 제한: 지금까지 처리한 row 수 기준으로 다음 청크를 시작해도 되는 시각
+        private final double nanosPerRow;
+        private long nextStart = System.nanoTime();
+
+        Run(Class<?> domainType, String jpql, Map<String, ?> parameters, ChunkOptions options, long totalChunks) {
+            this.domainType = domainType;
+            this.jpql = jpql;
+            this.parameters = parameters;
+            this.options = options;
+            this.totalChunks = totalChunks;
+            this.nanosPerRow = options.maxRowsPerSecond() > 0 ? 1_000_000_000.0 / options.maxRowsPerSecond() : 0;
+        }
+
+        // 실패하면 바로 stopped -> 다른 파티션도 (runPartitions가 결과를 보기 전에) 다음 청크부터 멈춤
+        void partition(long minId, long fromChunk, long toChunk) {
+            try {
+                for (long chunk = fromChunk; chunk < toChunk && !stopped.get(); chunk++) {
+                    long fromId = minId + chunk * options.chunkSize();
+                    long toId = fromId + options.chunkSize();
+                    int updated = chunk(fromId, toId);
+
+                    long total = rows.addAndGet(updated);
+                    options.progress().accept(new ChunkProgress(fromId, toId, updated, total, completed.incrementAndGet(), totalChunks));
+                    throttle(updated);
+                }
+            } catch (RuntimeException | Error e) {
+                stopped.set(true);
+                throw e;
+            }
+        }
+
+        private int chunk(long fromId, long toId) {
+            Integer updated = chunkTransaction.execute(status -> {
+                Query query = em.createQuery(jpql)
+                        .setParameter("fromId", fromId)
+                        .setParameter("toId", toId);
+                parameters.forEach(query::setParameter);
+                int count = query.executeUpdate();
+                // 청크 트랜잭션이 끝날 때 캐시 무효화
+                writeNotifier.notifyBulkWrite(domainType, jpql);
+                return count;
+            });
+            return updated == null ? 0 : updated;
+        }
+
+        private void throttle(int updated) {
+            if (nanosPerRow == 0 || updated == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                // 한참 쉬었다고 한꺼번에 몰아서 처리하지 않게 1초 이상은 적립 안 함
+                nextStart = Math.max(nextStart, now - MAX_BURST_NANOS) + (long) (updated * nanosPerRow);
+                wait = nextStart - now;
+            }
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopped.set(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package study.datajpa.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Page의 content 쿼리와 count 쿼리를 동시에 실행 (datajpa.paging.concurrent-count=true, 기본 꺼짐)
+ * content는 호출한 스레드(지금 커넥션), count는 applicationTaskExecutor에서 별도 읽기 전용 트랜잭션(커넥션)으로
+ * -> 응답 시간이 두 쿼리의 합이 아니라 긴 쪽
+ *
+ * applicationTaskExecutor는 spring.threads.virtual.enabled에 따라 플랫폼 스레드 풀 또는 가상 스레드
+ *
+ * 이럴 땐 기존처럼 순차 실행
+ * - 읽기/쓰기 트랜잭션 안 -> 다른 트랜잭션의 count는 아직 커밋 안 된 변경을 못 봄
+ * - 동시 count가 max-concurrent-counts만큼 이미 돌고 있음
+ * - 커넥션 풀이 포화 (커넥션을 기다리는 스레드가 있음, ConnectionAdmission 허가가 없음)
+ *
+ * 포화 체크는 시작할 때 한 번뿐이라 그 사이 풀이 찰 수 있음 (OSIV면 요청 하나가 커넥션 2개)
+ * -> count가 커넥션을 받기(스레드, ConnectionAdmission 허가 포함)를 count-start-timeout까지만 기다리고,
+ *    못 받으면 취소하고 호출한 스레드(지금 커넥션)에서 순차로 셈
+ *    이미 시작한 count는 느려도 끝날 때까지 기다림 (취소해도 SQL은 안 멈추고 같은 count를 한 번 더 돌리게 됨)
+ */
+@Slf4j
+@Component
+public class ConcurrentPageExecutor {
+
+    // count 작업 상태 -> 커넥션을 받은 쪽(STARTED)과 기다리다 포기한 쪽(ABANDONED) 중 먼저 바꾼 쪽이 이김
+    private static final int WAITING = 0;
+    private static final int STARTED = 1;
+    private static final int ABANDONED = 2;
+
+    private final boolean enabled;
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate readOnly;
+    private final Semaphore permits;
+    private final ConnectionPoolPressure poolPressure;
+    private final long countStartTimeoutMillis;
+
+    public ConcurrentPageExecutor(@Value("${datajpa.paging.concurrent-count:false}") boolean enabled,
+                                  @Value("${datajpa.paging.max-concurrent-counts:5}") int maxConcurrentCounts,
+                                  @Value("${datajpa.paging.count-start-timeout:1s}") Duration countStartTimeout,
+                                  @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                                  PlatformTransactionManager transactionManager,
+                                  ConnectionPoolPressure poolPressure) {
+        this.enabled = enabled;
+        this.executor = executor;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrentCounts);
+        this.poolPressure = poolPressure;
+        this.countStartTimeoutMillis = countStartTimeout.toMillis();
+    }
+
+    public <T> Page<T> page(Pageable pageable, Supplier<List<T>> content, LongSupplier count) {
+        if (!enabled || pageable.isUnpaged() || inReadWriteTransaction() || poolPressure.saturated() || !permits.tryAcquire()) {
+            return PageableExecutionUtils.getPage(content.get(), pageable, count);
+        }
+        try {
+            AtomicInteger state = new AtomicInteger(WAITING);
+            CountDownLatch settled = new CountDownLatch(1);
+            Future<Long> total;
+            try {
+                total = executor.submit(() -> {
+                    try {
+                        // 콜백은 트랜잭션 시작(커넥션 획득) 뒤에 불림
+                        return readOnly.execute(status -> {
+                            if (!state.compareAndSet(WAITING, STARTED)) {
+                                return null;
+                            }
+                            settled.countDown();
+                            return count.getAsLong();
+                        });
+                    } finally {
+                        // 커넥션을 못 받고 실패해도 기다리는 쪽을 바로 깨움
+                        settled.countDown();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                return PageableExecutionUtils.getPage(content.get(), pageable, count);
+            }
+
+            List<T> rows;
+            try {
+                rows = content.get();
+            } catch (RuntimeException e) {
+                state.set(ABANDONED);
+                total.cancel(true);
+                throw e;
+            }
+            return new PageImpl<>(rows, pageable, join(total, state, settled, count));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private long join(Future<Long> total, AtomicInteger state, CountDownLatch settled, LongSupplier count) {
+        try {
+            settled.await(countStartTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (state.compareAndSet(WAITING, ABANDONED)) {
+                // 아직 커넥션을 못 받음 (또는 받다가 실패) -> 취소하면 Hikari/허가 대기도 인터럽트로 끝남
+                total.cancel(true);
+                log.debug("동시 count가 {}ms 안에 커넥션을 못 받음 -> 순차 count", countStartTimeoutMillis);
+                return count.getAsLong();
+            }
+            // 시작한 count는 끝까지 기다림
+            Long result = total.get();
+            return result == null ? 0 : result;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("count 쿼리 실패", e.getCause());
+        } catch (InterruptedException e) {
+            state.compareAndSet(WAITING, ABANDONED);
+            total.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("count 쿼리 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package study.datajpa.repository.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import study.datajpa.jdbc.AdmissionControlDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 커넥션을 더 쓰는 동시 실행(ConcurrentPageExecutor, InListExecutor)을 해도 되는지
+ * 커넥션을 기다리는 스레드가 있거나 ConnectionAdmission 허가가 없으면 포화 -> 순차 실행으로
+ * 라우팅 모드면 프라이머리 풀과 그 허가를 봄
+ */
+@Slf4j
+@Component
+public class ConnectionPoolPressure {
+
+    private final AdmissionControlDataSource admission;
+    private final HikariDataSource hikari;
+
+    public ConnectionPoolPressure(DataSource dataSource) {
+        this.admission = unwrap(dataSource, AdmissionControlDataSource.class);
+        this.hikari = unwrap(dataSource, HikariDataSource.class);
+    }
+
+    public boolean saturated() {
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool != null && pool.getThreadsAwaitingConnection() > 0) {
+            return true;
+        }
+        return admission != null && admission.availablePermits() == 0;
+    }
+
+    // p6spy/라우팅 프록시 안쪽의 Hikari 풀, 입장 제한 -> 없으면 그 체크는 건너뜀
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            if (dataSource.isWrapperFor(type)) {
+                return dataSource.unwrap(type);
+            }
+        } catch (SQLException e) {
+            log.debug("{}를 찾을 수 없음", type.getSimpleName(), e);
+        }
+        return null;
+    }
+}
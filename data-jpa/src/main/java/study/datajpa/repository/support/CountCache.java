@@ -0,0 +1,86 @@
+package study.datajpa.repository.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Page의 totalElements용 count 결과 캐시
+ * 키 = 도메인 타입 + 조건(predicate) 문자열, TTL이 지나거나 해당 도메인 타입에 쓰기가 있으면 다시 count함
+ *
+ * 무효화는 도메인 타입별 세대(generation) 번호만 올림
+ * -> count 도중에 쓰기가 끼어들면 세대가 달라져서 그 결과는 캐시에 남지 않음
+ */
+@Component
+public class CountCache implements EntityWriteListener {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public CountCache(@Value("${datajpa.count-cache.ttl:30s}") Duration ttl,
+                      @Value("${datajpa.count-cache.max-entries:1000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public long count(Class<?> domainType, String predicate, LongSupplier counter) {
+        String key = domainType.getName() + "|" + predicate;
+        AtomicLong generation = generation(domainType);
+        long now = System.nanoTime();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.generation == generation.get() && now - entry.loadedAt < ttlNanos) {
+            return entry.count;
+        }
+
+        long loadedGeneration = generation.get();
+        long count = counter.getAsLong();
+        if (generation.get() == loadedGeneration) {
+            evictIfFull();
+            entries.put(key, new Entry(count, loadedGeneration, now));
+        }
+        return count;
+    }
+
+    // 캐시에 유효한 count가 있는지 (있으면 count를 따로 돌릴 필요 없음)
+    public boolean isCached(Class<?> domainType, String predicate) {
+        Entry entry = entries.get(domainType.getName() + "|" + predicate);
+        return entry != null && entry.generation == generation(domainType).get()
+                && System.nanoTime() - entry.loadedAt < ttlNanos;
+    }
+
+    @Override
+    public void onWrite(Class<?> domainType, boolean bulk) {
+        generation(domainType).incrementAndGet();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private AtomicLong generation(Class<?> domainType) {
+        return generations.computeIfAbsent(domainType, type -> new AtomicLong());
+    }
+
+    // 조건 조합이 너무 많아지면 만료된 것부터 지우고, 그래도 꽉 차 있으면 전부 비움
+    private void evictIfFull() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.loadedAt >= ttlNanos);
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    private record Entry(long count, long generation, long loadedAt) {
+    }
+}
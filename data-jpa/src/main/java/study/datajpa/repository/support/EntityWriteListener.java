@@ -0,0 +1,20 @@
+package study.datajpa.repository.support;
+
+import java.util.Set;
+
+/**
+ * 엔티티 테이블이 바뀌었을 때 알림을 받는 쪽 (캐시 무효화 등)
+ * bulk = true -> @Modifying 벌크 연산처럼 영속성 컨텍스트를 거치지 않은 변경
+ */
+public interface EntityWriteListener {
+
+    void onWrite(Class<?> domainType, boolean bulk);
+
+    /**
+     * attributes -> 벌크 JPQL이 바꾸는 속성 (update의 set 대상, delete는 빈 Set), 모르면 null
+     * 특정 속성만 보는 쪽(UsernameIndex)만 구현, 나머지는 속성 구분 없이 위 메소드로
+     */
+    default void onWrite(Class<?> domainType, boolean bulk, Set<String> attributes) {
+        onWrite(domainType, bulk);
+    }
+}
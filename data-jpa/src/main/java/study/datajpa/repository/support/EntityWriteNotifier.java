@@ -0,0 +1,118 @@
+package study.datajpa.repository.support;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 쓰기가 일어났다는 걸 EntityWriteListener들에게 전달함
+ * 레포지토리 프록시(WriteTrackingInterceptor)와 직접 짠 레포지토리(MemberJpaRepository)가 호출함
+ */
+@Component
+public class EntityWriteNotifier {
+
+    private static final Pattern UPDATE = Pattern.compile("^\\s*update\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DELETE = Pattern.compile("^\\s*delete\\s", Pattern.CASE_INSENSITIVE);
+    // set 바로 뒤나 쉼표 뒤의 "m.속성 =" -> where 절이나 함수 인자에서 더 잡히는 건 괜찮음 (덜 잡히지만 않으면 됨)
+    private static final Pattern ASSIGNMENT = Pattern.compile("(?:\\bset\\b|,)\\s*(?:\\w+\\.)?(\\w+)\\s*=", Pattern.CASE_INSENSITIVE);
+
+    private final ObjectProvider<EntityWriteListener> listeners;
+
+    public EntityWriteNotifier(ObjectProvider<EntityWriteListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void notifyWrite(Class<?> domainType, boolean bulk) {
+        notifyWrite(domainType, bulk, null);
+    }
+
+    // 벌크 JPQL -> 바뀌는 속성까지 같이 알림 (네이티브 SQL은 컬럼 이름이라 notifyWrite(domainType, true))
+    public void notifyBulkWrite(Class<?> domainType, String jpql) {
+        notifyWrite(domainType, true, updatedAttributes(jpql));
+    }
+
+    private void notifyWrite(Class<?> domainType, boolean bulk, Set<String> attributes) {
+        Write write = new Write(bulk, attributes);
+        fire(domainType, write);
+
+        // 커밋 전에 다른 트랜잭션이 옛날 값을 다시 캐시에 올릴 수 있으니 트랜잭션 종료 후 한번 더 알림
+        // save를 루프로 부르면 쓰기마다 등록되니까 트랜잭션에 묶인 PendingWrites 하나에 도메인 타입별로 모음
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingWrites pending = (PendingWrites) TransactionSynchronizationManager.getResource(this);
+            if (pending == null) {
+                pending = new PendingWrites();
+                TransactionSynchronizationManager.bindResource(this, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            // 한 번이라도 벌크면 벌크로 알림, 바뀐 속성은 합침
+            pending.types.merge(domainType, write, Write::merge);
+        }
+    }
+
+    private void fire(Class<?> domainType, Write write) {
+        listeners.orderedStream().forEach(listener -> listener.onWrite(domainType, write.bulk(), write.attributes()));
+    }
+
+    // update -> set 하는 속성, delete -> 없음, 그 외(insert 등) -> null (모름)
+    static Set<String> updatedAttributes(String jpql) {
+        if (DELETE.matcher(jpql).find()) {
+            return Set.of();
+        }
+        if (!UPDATE.matcher(jpql).find()) {
+            return null;
+        }
+        Set<String> attributes = new HashSet<>();
+        Matcher matcher = ASSIGNMENT.matcher(jpql);
+        while (matcher.find()) {
+            attributes.add(matcher.group(1));
+        }
+        return attributes.isEmpty() ? null : Set.copyOf(attributes);
+    }
+
+    // attributes는 벌크일 때만 의미 있음, null -> 모름
+    private record Write(boolean bulk, Set<String> attributes) {
+
+        Write merge(Write other) {
+            if (!bulk || !other.bulk) {
+                return bulk ? this : other;
+            }
+            if (attributes == null || other.attributes == null) {
+                return new Write(true, null);
+            }
+            Set<String> merged = new HashSet<>(attributes);
+            merged.addAll(other.attributes);
+            return new Write(true, Set.copyOf(merged));
+        }
+    }
+
+    // 트랜잭션마다 하나 -> 도메인 타입마다 afterCompletion에서 한 번씩
+    private class PendingWrites implements TransactionSynchronization {
+
+        private final Map<Class<?>, Write> types = new LinkedHashMap<>();
+
+        // REQUIRES_NEW 등으로 보류되면 안쪽 트랜잭션은 자기 PendingWrites를 따로 가짐
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityWriteNotifier.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(EntityWriteNotifier.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityWriteNotifier.this);
+            types.forEach(EntityWriteNotifier.this::fire);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package study.datajpa.repository.support;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지연 로딩 배치 크기 기본값 (datajpa.fetch.default-batch-size)을 EntityManager(Session)마다 설정
+ *
+ * hibernate.default_batch_fetch_size는 만들 때 엔티티/컬렉션 persister마다 박혀서 세션 값보다 우선함
+ * -> Session.setFetchBatchSize(@FetchTuning(batchSize))가 무시됨
+ * 그래서 전역 설정은 비워두고 세션 기본값으로 넣음 (@BatchSize가 직접 붙은 엔티티/컬렉션은 여전히 그 값이 우선)
+ */
+@Component
+public class FetchBatchSizeDefaults implements BeanPostProcessor {
+
+    private final int batchSize;
+
+    public FetchBatchSizeDefaults(@Value("${datajpa.fetch.default-batch-size:-1}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean factory && batchSize > 0) {
+            factory.setEntityManagerInitializer(em -> reset(em.unwrap(Session.class)));
+        }
+        return bean;
+    }
+
+    // 세션을 기본 배치 크기로 (설정이 없으면 배치 페치 안 함)
+    public void reset(Session session) {
+        session.setFetchBatchSize(batchSize);
+    }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.repository.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 쿼리 메소드 단위 지연 로딩 튜닝 (FetchTuningInterceptor)
+ * 결과를 돌면서 연관관계를 건드리는 건 메소드가 끝난 뒤라서, 호출 시점부터 트랜잭션이 끝날 때까지 세션에 적용됨
+ *
+ * 엔티티/컬렉션에 @BatchSize가 직접 붙어 있으면 그쪽이 우선 (batchSize는 그 외 연관관계에만 적용)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FetchTuning {
+
+    // 지연 로딩 프록시/컬렉션을 IN 한 번에 몇 개씩 묶을지, 0이면 datajpa.fetch.default-batch-size 그대로
+    int batchSize() default 0;
+
+    // 이 쿼리로 읽은 엔티티들의 컬렉션을 "원래 쿼리를 서브쿼리로 넣은 select" 한 번으로 초기화
+    boolean subselect() default false;
+}
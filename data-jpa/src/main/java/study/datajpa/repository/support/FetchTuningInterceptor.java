@@ -0,0 +1,71 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.Session;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @FetchTuning 메소드를 부르면 지금 영속성 컨텍스트(Session)의 batch/subselect 페치 설정을 바꿈
+ * 트랜잭션이 끝나면 기본값(datajpa.fetch.default-batch-size, FetchBatchSizeDefaults)으로 되돌림 -> OSIV로 세션이 이어져도 다음 트랜잭션에 안 남음
+ *
+ * 영속성 컨텍스트가 없으면(트랜잭션, OSIV 둘 다 없음) 결과가 준영속이라 지연 로딩 자체가 안 되니까 건너뜀
+ */
+@Component
+public class FetchTuningInterceptor implements RepositoryMethodInterceptor {
+
+    private final EntityManagerFactory emf;
+    private final FetchBatchSizeDefaults defaults;
+    private final Map<Method, Optional<FetchTuning>> tunings = new ConcurrentHashMap<>();
+
+    public FetchTuningInterceptor(EntityManagerFactory emf, FetchBatchSizeDefaults defaults) {
+        this.emf = emf;
+        this.defaults = defaults;
+    }
+
+    @Override
+    public Object invoke(RepositoryInformation repository, MethodInvocation invocation) throws Throwable {
+        FetchTuning tuning = tunings.computeIfAbsent(invocation.getMethod(),
+                method -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, FetchTuning.class)))
+                .orElse(null);
+        if (tuning != null) {
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            if (em != null) {
+                apply(em.unwrap(Session.class), tuning);
+            }
+        }
+        return invocation.proceed();
+    }
+
+    private void apply(Session session, FetchTuning tuning) {
+        if (tuning.batchSize() > 0) {
+            session.setFetchBatchSize(tuning.batchSize());
+        }
+        if (tuning.subselect()) {
+            session.setSubselectFetchingEnabled(true);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (session.isOpen()) {
+                        // 전역 subselect 페치는 안 씀 (컬렉션별로 필요하면 @Fetch(SUBSELECT))
+                        defaults.reset(session);
+                        session.setSubselectFetchingEnabled(false);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package study.datajpa.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 큰 IN 리스트 조회를 청크로 나눠서 실행하고 결과를 합침
+ * in :names 한 방에 수천 개를 넘기면
+ * - 리스트 길이마다 SQL이 달라서 쿼리 플랜 캐시(Hibernate, DB)에 길이별로 플랜이 쌓임
+ * - DB 파라미터 개수 한도를 넘을 수 있음 (Oracle IN 1000개, SQL Server 2100개 등)
+ *
+ * 중복을 빼고 chunk-size개씩 자름 -> chunk-size는 2의 거듭제곱이라 in_clause_parameter_padding과 합치면
+ * IN 파라미터 개수는 1, 2, 4, ..., chunk-size 중 하나 (플랜은 최대 log2(chunk-size) + 1개)
+ *
+ * execute는 호출한 스레드에서 순차 실행 (지금 영속성 컨텍스트, OSIV면 요청의 커넥션 하나)
+ * executeParallel은 호출한 쪽이 명시적으로 원할 때만 parallelism개까지 동시에
+ * - 워커마다 별도 읽기 전용 트랜잭션 하나 -> 결과 엔티티는 준영속 (OSIV여도 지연 로딩 안 됨)
+ * - 커넥션을 parallelism개 더 씀 -> 트랜잭션 안이거나 커넥션 풀이 포화(ConnectionPoolPressure)면 순차
+ * - parallel-start-timeout은 워커가 커넥션을 받기까지만 -> 못 받은 워커는 취소하고 호출한 스레드가 남은 청크를 같이 처리
+ *   이미 시작한 워커는 느려도 끝까지 기다림 (중간에 끊어도 JDBC 호출은 안 멈추고 같은 청크를 다시 돌리게 됨)
+ */
+@Slf4j
+@Component
+public class InListExecutor {
+
+    private static final int WAITING = 0;
+    private static final int STARTED = 1;
+    private static final int ABANDONED = 2;
+
+    private final int chunkSize;
+    private final int parallelism;
+    private final TransactionTemplate readOnly;
+    private final ConnectionPoolPressure poolPressure;
+    private final long parallelStartTimeoutNanos;
+
+    public InListExecutor(@Value("${datajpa.in-list.chunk-size:512}") int chunkSize,
+                          @Value("${datajpa.in-list.parallelism:4}") int parallelism,
+                          @Value("${datajpa.in-list.parallel-start-timeout:2s}") Duration parallelStartTimeout,
+                          PlatformTransactionManager transactionManager,
+                          ConnectionPoolPressure poolPressure) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("chunk-size, parallelism은 1 이상이어야 함: " + chunkSize + ", " + parallelism);
+        }
+        // 2의 거듭제곱이 아니면 마지막 청크 말고도 패딩이 붙음 -> 내림
+        this.chunkSize = Integer.highestOneBit(chunkSize);
+        this.parallelism = parallelism;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.poolPressure = poolPressure;
+        this.parallelStartTimeoutNanos = parallelStartTimeout.toNanos();
+    }
+
+    /**
+     * chunkQuery는 청크 하나(chunk-size개 이하)로 IN 조회
+     * 예) chunk -> em.createQuery("select m from Member m where m.username in :names", Member.class).setParameter("names", chunk).getResultList()
+     * 결과는 청크 순서대로 합침 (청크 안 순서는 쿼리가 정한 대로)
+     */
+    public <P, T> List<T> execute(Collection<P> values, Function<List<P>, List<T>> chunkQuery) {
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return sequential(chunks(values), chunkQuery);
+    }
+
+    // execute와 같은데 청크를 동시에 (결과는 준영속, 조건이 안 맞으면 순차)
+    public <P, T> List<T> executeParallel(Collection<P> values, Function<List<P>, List<T>> chunkQuery) {
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<List<P>> chunks = chunks(values);
+        if (chunks.size() == 1 || TransactionSynchronizationManager.isActualTransactionActive() || poolPressure.saturated()) {
+            return sequential(chunks, chunkQuery);
+        }
+        return parallel(chunks, chunkQuery);
+    }
+
+    private <P> List<List<P>> chunks(Collection<P> values) {
+        List<P> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        List<List<P>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+        }
+        return chunks;
+    }
+
+    private static <P, T> List<T> sequential(List<List<P>> chunks, Function<List<P>, List<T>> chunkQuery) {
+        List<T> result = new ArrayList<>();
+        for (List<P> chunk : chunks) {
+            result.addAll(chunkQuery.apply(chunk));
+        }
+        return result;
+    }
+
+    private <P, T> List<T> parallel(List<List<P>> chunks, Function<List<P>, List<T>> chunkQuery) {
+        List<List<T>> results = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            results.add(null);
+        }
+
+        // 워커 parallelism개가 다음 청크를 하나씩 가져감 -> 커넥션은 최대 parallelism개
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        int workerCount = Math.min(parallelism, chunks.size());
+        List<Worker> workers = new ArrayList<>(workerCount);
+        int fallback = 0;
+        // 워커는 대부분 커넥션/DB 대기라 가상 스레드로 충분
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < workerCount; w++) {
+                Worker worker = new Worker();
+                worker.future = executor.submit(() -> worker.run(() ->
+                        drain(chunks, chunkQuery, results, next, stopped)));
+                workers.add(worker);
+            }
+
+            boolean abandoned = false;
+            long deadline = System.nanoTime() + parallelStartTimeoutNanos;
+            try {
+                for (Worker worker : workers) {
+                    abandoned |= !worker.startedBefore(deadline);
+                }
+            } catch (InterruptedException e) {
+                stopped.set(true);
+                workers.forEach(Worker::abandon);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("IN 청크 조회 중 인터럽트", e);
+            }
+            if (abandoned) {
+                // 커넥션을 못 받은 워커 몫 -> 호출한 스레드도 남은 청크를 같이 가져감
+                fallback = drain(chunks, chunkQuery, results, next, stopped);
+            }
+
+            RuntimeException failure = null;
+            for (Worker worker : workers) {
+                if (worker.state.get() != STARTED) {
+                    continue;
+                }
+                try {
+                    // 시작한 워커는 느려도 끝까지 기다림 (인터럽트해도 JDBC 호출은 안 멈춤)
+                    worker.future.get();
+                } catch (ExecutionException e) {
+                    stopped.set(true);
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException re ? re : new IllegalStateException("IN 청크 조회 실패", e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    stopped.set(true);
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("IN 청크 조회 중 인터럽트", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        if (fallback > 0) {
+            log.warn("IN 청크 동시 조회 워커가 {}ms 안에 커넥션을 못 받음 -> 청크 {}/{}개는 호출한 스레드에서 실행",
+                    TimeUnit.NANOSECONDS.toMillis(parallelStartTimeoutNanos), fallback, chunks.size());
+        }
+
+        List<T> merged = new ArrayList<>();
+        for (List<T> rows : results) {
+            merged.addAll(rows);
+        }
+        log.debug("IN 청크 조회 -> chunks={} workers={} rows={}", chunks.size(), workerCount, merged.size());
+        return merged;
+    }
+
+    // 남은 청크를 하나씩 가져가서 실행, 실패하면 다른 쪽도 새 청크를 안 가져감
+    private static <P, T> int drain(List<List<P>> chunks, Function<List<P>, List<T>> chunkQuery,
+                                    List<List<T>> results, AtomicInteger next, AtomicBoolean stopped) {
+        int done = 0;
+        try {
+            for (int i = next.getAndIncrement(); i < chunks.size() && !stopped.get(); i = next.getAndIncrement()) {
+                List<T> rows = chunkQuery.apply(chunks.get(i));
+                synchronized (results) {
+                    results.set(i, rows);
+                }
+                done++;
+            }
+        } catch (RuntimeException e) {
+            stopped.set(true);
+            throw e;
+        }
+        return done;
+    }
+
+    // 워커 하나 = 읽기 전용 트랜잭션(커넥션) 하나
+    // 커넥션을 받은 쪽(STARTED)과 기다리다 포기한 쪽(ABANDONED) 중 먼저 바꾼 쪽이 이김 -> 포기한 워커는 청크를 안 가져감
+    private final class Worker {
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final CountDownLatch settled = new CountDownLatch(1);
+        private Future<?> future;
+
+        void run(Runnable work) {
+            try {
+                // 콜백은 트랜잭션 시작(커넥션 획득) 뒤에 불림
+                readOnly.executeWithoutResult(status -> {
+                    if (!state.compareAndSet(WAITING, STARTED)) {
+                        return;
+                    }
+                    settled.countDown();
+                    work.run();
+                });
+            } finally {
+                // 커넥션을 못 받고 실패해도 기다리는 쪽을 바로 깨움
+                settled.countDown();
+            }
+        }
+
+        boolean startedBefore(long deadline) throws InterruptedException {
+            settled.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (state.get() == STARTED) {
+                return true;
+            }
+            abandon();
+            return state.get() == STARTED;
+        }
+
+        // 아직 커넥션 대기 중이면 인터럽트 -> Hikari/허가 대기에서 빠져나옴
+        void abandon() {
+            if (state.compareAndSet(WAITING, ABANDONED)) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package study.datajpa.repository.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락(@Version) 충돌 시 작업 단위를 통째로 다시 실행
+ * - 시도마다 새 트랜잭션(REQUIRES_NEW) -> 새 영속성 컨텍스트에서 최신 버전을 다시 읽음
+ * - 최대 max-attempts번, 사이에 지터 백오프 (0 ~ min(max-backoff, initial-backoff * 2^(n-1)) 중 랜덤)
+ *   -> 같이 실패한 writer들이 같은 순간에 다시 몰리지 않게 흩어줌
+ * - 메트릭: datajpa.optimistic.attempts / conflicts / exhausted (태그 name) -> 충돌률 = conflicts / attempts
+ *
+ * work는 재실행될 수 있으니 DB 밖 부수 효과(메일, 외부 API)는 넣지 않음
+ * 호출한 쪽 트랜잭션이 같은 row에 락을 잡고 있으면 의미가 없음 -> 트랜잭션 밖에서 호출 (ChunkedBulkUpdater와 같음)
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    public static final String ATTEMPTS = "datajpa.optimistic.attempts";
+    public static final String CONFLICTS = "datajpa.optimistic.conflicts";
+    public static final String EXHAUSTED = "datajpa.optimistic.exhausted";
+
+    private final TransactionTemplate attemptTransaction;
+    private final MeterRegistry registry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                   @Value("${datajpa.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${datajpa.optimistic-retry.initial-backoff:5ms}") Duration initialBackoff,
+                                   @Value("${datajpa.optimistic-retry.max-backoff:200ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("max-attempts는 1 이상이어야 함: " + maxAttempts);
+        }
+        this.attemptTransaction = new TransactionTemplate(transactionManager);
+        this.attemptTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.registry = registry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    // name -> 메트릭 태그 (작업 종류별로 충돌률을 봄)
+    public <T> T execute(String name, Supplier<T> work) {
+        Meters counters = meters.computeIfAbsent(name, this::register);
+        for (int attempt = 1; ; attempt++) {
+            counters.attempts().increment();
+            try {
+                return attemptTransaction.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                counters.conflicts().increment();
+                if (attempt >= maxAttempts) {
+                    counters.exhausted().increment();
+                    log.warn("낙관적 락 재시도 {}번 모두 충돌: {}", maxAttempts, name);
+                    throw e;
+                }
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    public void run(String name, Runnable work) {
+        execute(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt, RuntimeException conflict) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private Meters register(String name) {
+        return new Meters(counter(ATTEMPTS, name), counter(CONFLICTS, name), counter(EXHAUSTED, name));
+    }
+
+    private Counter counter(String metric, String name) {
+        return Counter.builder(metric).tag("name", name).register(registry);
+    }
+
+    private record Meters(Counter attempts, Counter conflicts, Counter exhausted) {
+    }
+}
@@ -0,0 +1,70 @@
+package study.datajpa.repository.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 직접 선언한 쿼리 메소드는 기본 트랜잭션이 없음 (CRUD 메소드만 SimpleJpaRepository의 readOnly 트랜잭션)
+ * -> org.hibernate.readOnly 힌트가 있는 메소드를 트랜잭션 밖에서 부르면 읽기 전용 트랜잭션으로 감싸서 복제본으로 보냄
+ *
+ * 이미 트랜잭션 안이면 그 트랜잭션 커넥션을 그대로 씀
+ * Stream 반환 메소드는 호출한 쪽 트랜잭션에서 읽어야 돼서 제외
+ */
+@Component
+@ConditionalOnProperty(name = "datajpa.routing.enabled", havingValue = "true")
+public class ReadOnlyHintInterceptor implements RepositoryMethodInterceptor {
+
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
+    private final TransactionTemplate readOnly;
+    private final Map<Method, Boolean> readOnlyMethods = new ConcurrentHashMap<>();
+
+    public ReadOnlyHintInterceptor(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @Override
+    public Object invoke(RepositoryInformation repository, MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || !readOnlyMethods.computeIfAbsent(invocation.getMethod(), this::hasReadOnlyHint)) {
+            return invocation.proceed();
+        }
+        try {
+            return readOnly.execute(status -> {
+                try {
+                    return invocation.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            });
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+
+    private boolean hasReadOnlyHint(Method method) {
+        if (Stream.class.isAssignableFrom(method.getReturnType())) {
+            return false;
+        }
+        QueryHints hints = AnnotatedElementUtils.findMergedAnnotation(method, QueryHints.class);
+        return hints != null && Arrays.stream(hints.value())
+                .anyMatch(hint -> READ_ONLY_HINT.equals(hint.name()) && Boolean.parseBoolean(hint.value()));
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.repository.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * 레포지토리 팩토리 빈이 프록시를 만들기 전에 RepositoryMethodInterceptor 빈들을 advice로 추가함
+ * (actuator의 레포지토리 메트릭이 붙는 방식과 같음)
+ */
+@Component
+public class RepositoryInterceptorPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RepositoryMethodInterceptor> interceptors;
+
+    public RepositoryInterceptorPostProcessor(ObjectProvider<RepositoryMethodInterceptor> interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repository) ->
+                            interceptors.orderedStream().forEach(interceptor ->
+                                    proxyFactory.addAdvice((MethodInterceptor) invocation ->
+                                            interceptor.invoke(repository, invocation)))));
+        }
+        return bean;
+    }
+}
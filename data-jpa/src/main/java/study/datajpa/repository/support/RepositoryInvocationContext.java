@@ -0,0 +1,32 @@
+package study.datajpa.repository.support;
+
+/**
+ * 지금 스레드에서 실행 중인 레포지토리 메소드 이름 (예: MemberRepository.findAll)
+ * SQL 리포트에서 어떤 레포지토리 호출이 쿼리를 날렸는지 보여줄 때 씀
+ */
+public final class RepositoryInvocationContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryInvocationContext() {
+    }
+
+    // 레포지토리 밖(지연 로딩 등)이면 null
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void exit(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
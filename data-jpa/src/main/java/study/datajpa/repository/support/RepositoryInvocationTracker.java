@@ -0,0 +1,35 @@
+package study.datajpa.repository.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 레포지토리 호출 동안 RepositoryInvocationContext에 "레포지토리.메소드" 이름을 올려둠
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RepositoryInvocationTracker implements RepositoryMethodInterceptor {
+
+    // findById 같은 상속 메소드는 Method 객체가 레포지토리끼리 같아서 레포지토리 인터페이스까지 키로 씀
+    private final Map<Key, String> names = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(RepositoryInformation repository, MethodInvocation invocation) throws Throwable {
+        String name = names.computeIfAbsent(new Key(repository.getRepositoryInterface(), invocation.getMethod()),
+                key -> key.repository().getSimpleName() + "." + key.method().getName());
+        String previous = RepositoryInvocationContext.enter(name);
+        try {
+            return invocation.proceed();
+        } finally {
+            RepositoryInvocationContext.exit(previous);
+        }
+    }
+
+    private record Key(Class<?> repository, Method method) {
+    }
+}
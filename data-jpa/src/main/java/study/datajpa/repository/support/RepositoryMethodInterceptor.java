@@ -0,0 +1,14 @@
+package study.datajpa.repository.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.repository.core.RepositoryInformation;
+
+/**
+ * Spring Data 레포지토리 프록시에 끼워 넣는 인터셉터
+ * 이 타입의 빈을 등록하면 RepositoryInterceptorPostProcessor가 모든 레포지토리 프록시에 붙여줌
+ * (트랜잭션 인터셉터 안쪽에서 실행됨)
+ */
+public interface RepositoryMethodInterceptor {
+
+    Object invoke(RepositoryInformation repository, MethodInvocation invocation) throws Throwable;
+}
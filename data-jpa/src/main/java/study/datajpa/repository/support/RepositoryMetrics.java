@@ -0,0 +1,121 @@
+package study.datajpa.repository.support;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레포지토리 메소드별 메트릭 (/actuator/metrics)
+ * - datajpa.repository.invocations : 실행 시간 Timer, 태그 repository, method, outcome(success/error), exception
+ *                                    -> error 비율 = outcome=error count / 전체 count
+ * - datajpa.repository.rows        : 결과 row 수 DistributionSummary (컬렉션/Page/Optional/엔티티, @Modifying은 변경 row 수)
+ * p50/p95/p99는 application.properties의 management.metrics.distribution.percentiles
+ *
+ * Spring Data 프록시는 RepositoryMetricsInterceptor, 직접 짠 @Repository는 RepositoryMetricsPostProcessor가 호출함
+ * 성공 경로는 메소드별로 만들어둔 Meter를 그대로 씀 -> 호출마다 태그 조합/레지스트리 조회 없음
+ */
+@Component
+public class RepositoryMetrics {
+
+    public static final String INVOCATIONS = "datajpa.repository.invocations";
+    public static final String ROWS = "datajpa.repository.rows";
+
+    private final MeterRegistry registry;
+    private final Map<Key, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Object record(Class<?> repository, MethodInvocation invocation) throws Throwable {
+        MethodMeters methodMeters = meters.computeIfAbsent(new Key(repository, invocation.getMethod()), this::register);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            // 실패는 드물어서 예외 타입별 Timer를 그때그때 찾음
+            timer(methodMeters.tags, "error", ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+        methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        long rows = methodMeters.rows(result);
+        if (rows >= 0) {
+            methodMeters.rows.record(rows);
+        }
+        return result;
+    }
+
+    private MethodMeters register(Key key) {
+        Method method = key.method();
+        Tags tags = Tags.of("repository", key.repository().getSimpleName(), "method", method.getName());
+        return new MethodMeters(tags,
+                timer(tags, "success", "none"),
+                DistributionSummary.builder(ROWS)
+                        .description("Rows returned (or modified) by a repository method")
+                        .baseUnit("rows")
+                        .tags(tags)
+                        .register(registry),
+                method.getReturnType() == void.class,
+                AnnotatedElementUtils.hasAnnotation(method, Modifying.class));
+    }
+
+    private Timer timer(Tags tags, String outcome, String exception) {
+        return Timer.builder(INVOCATIONS)
+                .description("Repository method invocations")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    private record Key(Class<?> repository, Method method) {
+    }
+
+    private record MethodMeters(Tags tags, Timer success, DistributionSummary rows, boolean voidMethod, boolean modifying) {
+
+        // -1 -> row 수로 볼 수 없는 결과 (void, count/exists, Stream/Mono/Flux처럼 아직 안 읽은 결과)
+        // 리액티브 레포지토리는 조립 시간만 잡힘
+        long rows(Object result) {
+            if (voidMethod) {
+                return -1;
+            }
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Number number) {
+                return modifying ? number.longValue() : -1;
+            }
+            if (result instanceof Boolean || result instanceof Iterable<?> || result instanceof AutoCloseable
+                    || result instanceof Publisher<?>) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+}
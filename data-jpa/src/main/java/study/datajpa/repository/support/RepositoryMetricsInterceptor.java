@@ -0,0 +1,24 @@
+package study.datajpa.repository.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.stereotype.Component;
+
+// Spring Data 레포지토리 메소드 전부 (파생, @Query, 네이티브, MemberRepositoryImpl 같은 커스텀 fragment)
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RepositoryMetricsInterceptor implements RepositoryMethodInterceptor {
+
+    private final RepositoryMetrics metrics;
+
+    public RepositoryMetricsInterceptor(RepositoryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(RepositoryInformation repository, MethodInvocation invocation) throws Throwable {
+        return metrics.record(repository.getRepositoryInterface(), invocation);
+    }
+}
@@ -0,0 +1,42 @@
+package study.datajpa.repository.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 직접 짠 @Repository 클래스(MemberJpaRepository, TeamJpaRepository 등)에 RepositoryMetrics를 붙임
+ * PersistenceExceptionTranslationPostProcessor처럼 이미 프록시면 advisor만 추가
+ * Spring Data 레포지토리 프록시는 구현체(SimpleJpaRepository)에 @Repository가 있지만 RepositoryMetricsInterceptor가 이미 측정함 -> 제외
+ */
+@Component
+public class RepositoryMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<RepositoryMetrics> metrics) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(new AnnotationClassFilter(Repository.class, true));
+
+        // BeanPostProcessor라서 MeterRegistry 쪽 빈은 첫 호출 때 꺼냄
+        this.advisor = new DefaultPointcutAdvisor(pointcut, (MethodInterceptor) invocation ->
+                metrics.getObject().record(ClassUtils.getUserClass(invocation.getThis()), invocation));
+        setBeforeExistingAdvisors(true);
+    }
+
+    @Override
+    protected boolean isEligible(Object bean, String beanName) {
+        return !(bean instanceof org.springframework.data.repository.Repository<?, ?>) && super.isEligible(bean, beanName);
+    }
+}
@@ -0,0 +1,27 @@
+package study.datajpa.repository.support;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.spi.CachingProvider;
+
+/**
+ * 2차 캐시 RegionFactory (hibernate.cache.region.factory_class)
+ * JCache 프로바이더는 CacheManager를 (URI, 클래스로더)마다 하나만 만들어서 돌려씀
+ * -> 같은 JVM에 SessionFactory가 둘이면 (테스트 컨텍스트 여러 개) 같은 CacheManager를 공유하고,
+ *    먼저 닫히는 쪽이 CacheManager를 close 해서 남은 쪽은 "Cache[...] is closed"
+ *
+ * RegionFactory마다 빈 클래스로더를 키로 넘겨서 CacheManager를 따로 받음 (리소스/클래스는 부모에게 위임)
+ */
+public class ScopedJCacheRegionFactory extends JCacheRegionFactory {
+
+    private ClassLoader scope;
+
+    @Override
+    protected synchronized ClassLoader getClassLoader(CachingProvider cachingProvider) {
+        if (scope == null) {
+            scope = new ClassLoader(super.getClassLoader(cachingProvider)) {
+            };
+        }
+        return scope;
+    }
+}
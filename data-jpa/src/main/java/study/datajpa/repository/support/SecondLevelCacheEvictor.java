@@ -0,0 +1,27 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 벌크 연산은 영속성 컨텍스트와 2차 캐시를 거치지 않고 DB에 바로 반영됨
+ * -> 벌크 연산이 끝나면 해당 엔티티 리전을 통째로 비움
+ * (JPQL 벌크는 Hibernate도 리전을 비우지만 네이티브 벌크 쿼리까지 같은 규칙으로 맞춤)
+ */
+@Component
+public class SecondLevelCacheEvictor implements EntityWriteListener {
+
+    private final EntityManagerFactory emf;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @Override
+    public void onWrite(Class<?> domainType, boolean bulk) {
+        // 일반 save/delete는 READ_WRITE 전략이 엔티티 단위로 알아서 갱신함
+        if (bulk) {
+            emf.getCache().evict(domainType);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package study.datajpa.repository.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그인 경로 username 조회 가속 (UsernameLookupInterceptor가 사용)
+ * - Bloom filter : member 테이블의 username 전체, 기동 시 + rebuild-interval마다 다시 만듦, insert/username 수정 때 추가
+ * - near-cache   : username -> member_id (DB에서 한 건 찾은 것만), 맞는지는 꺼낼 때 엔티티 username으로 다시 확인
+ *
+ * 프로세스 안의 값이라 "없음"과 near-cache 적중은 이 인스턴스가 member.username을 쓰는 유일한 곳일 때만 맞음
+ * -> 기본 꺼짐 (datajpa.username-index.enabled), 인스턴스가 하나고 쓰기가 전부 이 앱을 거칠 때만 켤 것
+ *    다른 인스턴스나 JDBC/네이티브 SQL로 직접 넣은 회원은 다음 rebuild까지 "없음" (같은 username 중복도 못 잡음)
+ * 이 앱의 벌크 쓰기(@Modifying, 네이티브 벌크, ChunkedBulkUpdater)는 EntityWriteListener로 받음
+ * -> username을 건드릴 수 있는 벌크만 필터와 near-cache를 버리고 다시 만들 때까지 전부 DB로 (age만 바꾸는 벌크, 벌크 delete는 그대로)
+ *    다시 만들기는 한 번에 하나만 예약됨 (청크마다 알림이 와도 대기 중인 rebuild 하나로 합침)
+ *
+ * 메트릭: datajpa.username.lookups(result=bloom_negative|cache_hit|db_hit|false_positive),
+ *         datajpa.username.bloom.bytes, datajpa.username.bloom.fpp, datajpa.username.cache.entries
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.username-index.enabled", havingValue = "true")
+public class UsernameIndex implements EntityWriteListener, DisposableBean {
+
+    // 엔트리 하나 대략 크기 (ConcurrentHashMap 노드 + String 헤더 + Long), username 글자는 따로 더함
+    private static final int ENTRY_OVERHEAD_BYTES = 32 + 40 + 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long minExpectedInsertions;
+    private final double fpp;
+    private final int maxCached;
+    private final Duration rebuildInterval;
+
+    // null -> 아직 못 만듦 -> 전부 "있을 수도"
+    private volatile BloomFilter filter;
+    // 직전 rebuild 시작 이후 추가된 username -> 스캔 때 아직 커밋 전이던 insert를 새 필터에 다시 넣음
+    private volatile Set<String> recentlyAdded = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    // 벌크 쓰기마다 올라감 -> 그 전에 시작한 rebuild의 필터는 버림
+    private final AtomicLong generation = new AtomicLong();
+    // 예약됐는데 아직 시작 안 한 rebuild가 있음 -> 더 예약하지 않음
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    private final Counter bloomNegatives;
+    private final Counter cacheHits;
+    private final Counter dbHits;
+    private final Counter falsePositives;
+
+    public UsernameIndex(JdbcTemplate jdbcTemplate, MeterRegistry registry,
+                         @Value("${datajpa.username-index.expected-insertions:1000000}") long minExpectedInsertions,
+                         @Value("${datajpa.username-index.fpp:0.01}") double fpp,
+                         @Value("${datajpa.username-index.max-cached:100000}") int maxCached,
+                         @Value("${datajpa.username-index.rebuild-interval:10m}") Duration rebuildInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.fpp = fpp;
+        this.maxCached = maxCached;
+        this.rebuildInterval = rebuildInterval;
+
+        this.bloomNegatives = lookups(registry, "bloom_negative");
+        this.cacheHits = lookups(registry, "cache_hit");
+        this.dbHits = lookups(registry, "db_hit");
+        this.falsePositives = lookups(registry, "false_positive");
+        Gauge.builder("datajpa.username.bloom.bytes", this, index -> index.filter == null ? 0 : index.filter.byteSize())
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("datajpa.username.bloom.fpp", this, index -> index.filter == null ? 0 : index.filter.expectedFpp())
+                .register(registry);
+        Gauge.builder("datajpa.username.cache.entries", ids, Map::size)
+                .register(registry);
+    }
+
+    // 기동 시 한 번 (DataJpaApplication의 usernameIndexLoader) + 주기적으로 다시 만듦
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "username-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuild();
+        if (rebuildInterval.isPositive()) {
+            long millis = rebuildInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::rebuildQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 회원 수 * 2 (최소 expected-insertions) 크기로 새로 만들어서 통째로 교체 -> 삭제된 username도 여기서 빠짐
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long startGeneration = generation.get();
+        Set<String> addedBefore = recentlyAdded;
+        recentlyAdded = ConcurrentHashMap.newKeySet();
+
+        Long members = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+        BloomFilter next = BloomFilter.create(Math.max(minExpectedInsertions, (members == null ? 0 : members) * 2), fpp);
+        jdbcTemplate.query("select username from member where username is not null",
+                (RowCallbackHandler) rs -> next.put(rs.getString(1)));
+        addedBefore.forEach(next::put);
+        synchronized (generation) {
+            if (generation.get() != startGeneration) {
+                // 스캔 중에 벌크 쓰기 -> 뒤에 예약된 rebuild가 새로 만듦
+                log.info("username Bloom filter 재생성 중 벌크 쓰기 -> 버리고 다시 만듦");
+                return;
+            }
+            filter = next;
+        }
+        // 교체 직전에 옛 필터에만 들어간 것
+        recentlyAdded.forEach(next::put);
+
+        log.info("username Bloom filter {}명, {}KB, 예상 오탐률 {} ({}ms)", members, next.byteSize() / 1024,
+                String.format("%.4f", next.expectedFpp()), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public boolean mightExist(String username) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(username);
+    }
+
+    // insert, username 수정 (UsernameIndexEntityListener)
+    // 같은 username이 또 생기면 단건 조회가 예외여야 되니까 near-cache에서 뺌
+    public void added(String username) {
+        if (username == null) {
+            return;
+        }
+        ids.remove(username);
+        recentlyAdded.add(username);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(username);
+        }
+    }
+
+    @Override
+    public void onWrite(Class<?> domainType, boolean bulk) {
+        onWrite(domainType, bulk, null);
+    }
+
+    // 벌크 쓰기는 어떤 username이 생겼는지 모름 -> 다시 만들 때까지 "있을 수도" + near-cache 안 씀
+    // username을 set 하지 않는 벌크는 건너뜀 (삭제된 username은 오탐만 늘고, near-cache는 꺼낼 때 다시 확인함)
+    // EntityWriteNotifier가 쓰기 직후와 트랜잭션 종료 후 두 번 부름 -> 예약된 rebuild가 아직 안 돌았으면 하나로 합쳐짐
+    @Override
+    public void onWrite(Class<?> domainType, boolean bulk, Set<String> attributes) {
+        if (!bulk || !Member.class.isAssignableFrom(domainType)
+                || (attributes != null && !attributes.contains("username"))) {
+            return;
+        }
+        synchronized (generation) {
+            generation.incrementAndGet();
+            filter = null;
+        }
+        ids.clear();
+        requestRebuild();
+    }
+
+    public Long cachedId(String username) {
+        return ids.get(username);
+    }
+
+    public void cache(String username, Long id) {
+        // CountCache처럼 꽉 차면 비우고 다시 채움
+        if (ids.size() >= maxCached) {
+            ids.clear();
+        }
+        ids.put(username, id);
+    }
+
+    public void evict(String username, Long id) {
+        ids.remove(username, id);
+    }
+
+    void bloomNegative() {
+        bloomNegatives.increment();
+    }
+
+    void cacheHit() {
+        cacheHits.increment();
+    }
+
+    void dbHit() {
+        dbHits.increment();
+    }
+
+    // Bloom filter는 "있을 수도"라고 했는데 DB에 없음
+    void falsePositive() {
+        falsePositives.increment();
+    }
+
+    public UsernameIndexStats stats() {
+        BloomFilter current = filter;
+        long cacheBytes = 0;
+        for (String username : ids.keySet()) {
+            cacheBytes += ENTRY_OVERHEAD_BYTES + username.length();
+        }
+        return new UsernameIndexStats(
+                (long) bloomNegatives.count(), (long) cacheHits.count(), (long) dbHits.count(), (long) falsePositives.count(),
+                current == null ? 0 : current.byteSize(), current == null ? 0 : current.expectedFpp(),
+                ids.size(), cacheBytes);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // 돌고 있는 rebuild는 generation이 바뀌어서 결과를 버림 -> 대기 중인 것 하나만 있으면 됨
+    private void requestRebuild() {
+        ScheduledExecutorService current = scheduler;
+        if (current == null || current.isShutdown() || !rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            current.execute(() -> {
+                rebuildPending.set(false);
+                rebuildQuietly();
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            rebuildPending.set(false);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // 실패하면 이전 필터를 그대로 씀
+            log.warn("username Bloom filter 재생성 실패", e);
+        }
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("datajpa.username.lookups").tag("result", result).register(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.ObjectProvider;
+import study.datajpa.entity.Member;
+
+// Member insert/수정 -> UsernameIndex Bloom filter에 추가 (username-index가 꺼져 있으면 아무것도 안 함)
+// insert는 flush 전에 조회해도 걸리게 persist 시점(PrePersist)에 넣음
+public class UsernameIndexEntityListener {
+
+    private final ObjectProvider<UsernameIndex> usernameIndex;
+
+    public UsernameIndexEntityListener(ObjectProvider<UsernameIndex> usernameIndex) {
+        this.usernameIndex = usernameIndex;
+    }
+
+    @PrePersist
+    @PostUpdate
+    public void usernameChanged(Member member) {
+        UsernameIndex index = usernameIndex.getIfAvailable();
+        if (index != null) {
+            index.added(member.getUsername());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package study.datajpa.repository.support;
+
+/**
+ * UsernameIndex 현황
+ * hitRate           -> DB를 안 간 비율 (Bloom filter로 거른 것 + near-cache 적중)
+ * falsePositiveRate -> Bloom filter를 통과했는데 DB에 없던 비율 (없는 username 조회 중)
+ */
+public record UsernameIndexStats(long bloomNegatives, long cacheHits, long dbHits, long falsePositives,
+                                 long bloomBytes, double bloomExpectedFpp, int cachedEntries, long cacheBytes) {
+
+    public long lookups() {
+        return bloomNegatives + cacheHits + dbHits + falsePositives;
+    }
+
+    public double hitRate() {
+        long lookups = lookups();
+        return lookups == 0 ? 0 : (double) (bloomNegatives + cacheHits) / lookups;
+    }
+
+    public double falsePositiveRate() {
+        long misses = bloomNegatives + falsePositives;
+        return misses == 0 ? 0 : (double) falsePositives / misses;
+    }
+}
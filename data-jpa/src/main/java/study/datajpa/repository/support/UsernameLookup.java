@@ -0,0 +1,19 @@
+package study.datajpa.repository.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * username 하나로 Member 단건(Member 또는 Optional<Member>)을 찾는 로그인 경로 메소드 (UsernameLookupInterceptor)
+ * - Bloom filter에 없는 username -> DB 안 가고 바로 null / Optional.empty()
+ * - 최근에 찾은 username -> id로 em.find (2차 캐시)
+ * 첫 번째 파라미터가 username이어야 됨
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsernameLookup {
+}
@@ -0,0 +1,118 @@
+package study.datajpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.Session;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @UsernameLookup 메소드 앞에서 UsernameIndex를 먼저 봄
+ * 1. Bloom filter에 없음 -> DB 안 가고 결과 없음
+ * 2. near-cache에 id가 있음 -> em.find (2차 캐시), 엔티티 username이 같을 때만 사용 (수정/삭제됐으면 버리고 3으로)
+ * 3. 원래 쿼리 -> 한 건 찾으면 near-cache에 넣음, 없으면 Bloom filter 오탐
+ *
+ * 지금 영속성 컨텍스트에 flush 안 된 변경이 있으면(username 수정 등) 1을 건너뜀 -> 쿼리 전 자동 flush로 확인
+ */
+@Component
+@ConditionalOnProperty(name = "datajpa.username-index.enabled", havingValue = "true")
+public class UsernameLookupInterceptor implements RepositoryMethodInterceptor {
+
+    private final UsernameIndex index;
+    private final EntityManagerFactory emf;
+    private final EntityManager em;
+    private final Map<Method, Optional<Lookup>> lookups = new ConcurrentHashMap<>();
+
+    public UsernameLookupInterceptor(UsernameIndex index, EntityManagerFactory emf, EntityManager em) {
+        this.index = index;
+        this.emf = emf;
+        this.em = em;
+    }
+
+    @Override
+    public Object invoke(RepositoryInformation repository, MethodInvocation invocation) throws Throwable {
+        Lookup lookup = lookups.computeIfAbsent(invocation.getMethod(), UsernameLookupInterceptor::lookup).orElse(null);
+        if (lookup == null || !(invocation.getArguments()[0] instanceof String username)) {
+            return invocation.proceed();
+        }
+
+        EntityManager transactional = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        Session session = transactional == null ? null : transactional.unwrap(Session.class);
+
+        if (!index.mightExist(username) && (session == null || !session.isDirty())) {
+            index.bloomNegative();
+            return lookup.wrap(null);
+        }
+
+        Long id = index.cachedId(username);
+        if (id != null) {
+            Member member = load(session, id, lookup.readOnly());
+            if (member != null && username.equals(member.getUsername())) {
+                index.cacheHit();
+                return lookup.wrap(member);
+            }
+            index.evict(username, id);
+        }
+
+        Object result = invocation.proceed();
+        Member member = lookup.unwrap(result);
+        if (member == null) {
+            index.falsePositive();
+        } else {
+            index.dbHit();
+            index.cache(username, member.getId());
+        }
+        return result;
+    }
+
+    // 트랜잭션(OSIV) 안이면 그 세션에서 -> readOnly 힌트 메소드는 스냅샷 없이 (이미 관리 중인 엔티티면 그대로)
+    private Member load(Session session, Long id, boolean readOnly) {
+        if (session == null) {
+            return em.find(Member.class, id);
+        }
+        return session.byId(Member.class).withReadOnly(readOnly).load(id);
+    }
+
+    private static Optional<Lookup> lookup(Method method) {
+        if (!AnnotatedElementUtils.hasAnnotation(method, UsernameLookup.class)) {
+            return Optional.empty();
+        }
+        if (method.getParameterCount() == 0 || method.getParameterTypes()[0] != String.class) {
+            throw new IllegalStateException("@UsernameLookup 메소드는 첫 번째 파라미터가 username이어야 함: " + method);
+        }
+        boolean optional = method.getReturnType() == Optional.class;
+        if (!optional && method.getReturnType() != Member.class) {
+            throw new IllegalStateException("@UsernameLookup 메소드는 Member 또는 Optional<Member> 반환: " + method);
+        }
+        QueryHints hints = AnnotatedElementUtils.findMergedAnnotation(method, QueryHints.class);
+        boolean readOnly = hints != null && Arrays.stream(hints.value())
+                .anyMatch(hint -> "org.hibernate.readOnly".equals(hint.name()) && "true".equals(hint.value()));
+        return Optional.of(new Lookup(optional, readOnly));
+    }
+
+    private record Lookup(boolean optional, boolean readOnly) {
+
+        Object wrap(Member member) {
+            return optional ? Optional.ofNullable(member) : member;
+        }
+
+        Member unwrap(Object result) {
+            if (result instanceof Optional<?> found) {
+                return (Member) found.orElse(null);
+            }
+            return (Member) result;
+        }
+    }
+}
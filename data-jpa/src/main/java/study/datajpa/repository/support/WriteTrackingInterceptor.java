@@ -0,0 +1,44 @@
+package study.datajpa.repository.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * save*, delete*, remove*, @Modifying 메소드가 끝나면 해당 도메인 타입에 쓰기가 있었다고 알림
+ * 변경 감지(dirty checking)로 바뀌는 값은 여기서 못 잡음 -> 캐시 쪽 TTL로 커버
+ * @Modifying + JPQL @Query면 바뀌는 속성까지 같이 알림 (EntityWriteNotifier.notifyBulkWrite)
+ */
+@Component
+public class WriteTrackingInterceptor implements RepositoryMethodInterceptor {
+
+    private final EntityWriteNotifier notifier;
+
+    public WriteTrackingInterceptor(EntityWriteNotifier notifier) {
+        this.notifier = notifier;
+    }
+
+    @Override
+    public Object invoke(RepositoryInformation repository, MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+
+        Method method = invocation.getMethod();
+        boolean bulk = AnnotatedElementUtils.hasAnnotation(method, Modifying.class);
+        Query query = bulk ? AnnotatedElementUtils.findMergedAnnotation(method, Query.class) : null;
+        if (query != null && !query.nativeQuery() && !query.value().isEmpty()) {
+            notifier.notifyBulkWrite(repository.getDomainType(), query.value());
+        } else if (bulk || isWriteMethod(method.getName())) {
+            notifier.notifyWrite(repository.getDomainType(), bulk);
+        }
+        return result;
+    }
+
+    private boolean isWriteMethod(String name) {
+        return name.startsWith("save") || name.startsWith("delete") || name.startsWith("remove");
+    }
+}
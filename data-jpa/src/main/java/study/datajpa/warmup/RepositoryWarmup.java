@@ -0,0 +1,197 @@
+package study.datajpa.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.repository.MemberRepository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 배포 직후 첫 요청이 느린 문제 -> 트래픽 받기 전에 미리 한 번씩 돌려둠
+ * 1. 모든 레포지토리 쿼리 메소드를 임의 인자로 한 번씩 호출
+ *    -> Spring Data 쿼리 생성, Hibernate HQL 해석/SQL 변환 캐시, PreparedStatement 준비까지 끝내둠
+ * 2. 읽기 전용 대표 쿼리를 iterations번 반복 -> 엔티티 hydrate/DTO 변환 경로 JIT 컴파일
+ *
+ * 전부 읽기 전용 트랜잭션 + 롤백, 실패해도 기동은 계속 (로그만)
+ * ApplicationRunner에서 돌기 때문에 끝나야 readiness가 ACCEPTING_TRAFFIC이 됨 (DataJpaApplication)
+ */
+@Slf4j
+@Component
+public class RepositoryWarmup {
+
+    private static final String DUMMY = "warmup";
+
+    private final ApplicationContext context;
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+    private final int iterations;
+
+    public RepositoryWarmup(ApplicationContext context, MemberRepository memberRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${datajpa.warmup.iterations:200}") int iterations) {
+        this.context = context;
+        this.memberRepository = memberRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.iterations = iterations;
+    }
+
+    public void run() {
+        long start = System.nanoTime();
+        int methods = compileQueries();
+        runWorkload();
+        log.info("워밍업 완료 -> 쿼리 메소드 {}개, 반복 {}회, {}ms", methods, iterations, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // 1. 쿼리 메소드 전부 한 번씩
+    private int compileQueries() {
+        Repositories repositories = new Repositories(context);
+        int invoked = 0;
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+            if (repository == null) {
+                continue;
+            }
+            for (Method method : information.getQueryMethods()) {
+                if (isReadQuery(method) && invoke(repository, method)) {
+                    invoked++;
+                }
+            }
+        }
+        return invoked;
+    }
+
+    // 쓰기(@Modifying), 락(@Lock) 쿼리는 건너뜀
+    private boolean isReadQuery(Method method) {
+        return !AnnotatedElementUtils.hasAnnotation(method, Modifying.class)
+                && !AnnotatedElementUtils.hasAnnotation(method, Lock.class);
+    }
+
+    private boolean invoke(Object repository, Method method) {
+        Object[] args = new Object[method.getParameterCount()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = argument(ResolvableType.forMethodParameter(method, i));
+            if (args[i] == null) {
+                log.debug("워밍업 생략 (인자 타입 모름): {}", method);
+                return false;
+            }
+        }
+        try {
+            readOnly.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                Object result = call(repository, method, args);
+                if (result instanceof Stream<?> stream) {
+                    try (stream) {
+                        stream.limit(1).count();
+                    }
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("워밍업 실패: {}.{} -> {}", method.getDeclaringClass().getSimpleName(), method.getName(), e.toString());
+            return false;
+        }
+    }
+
+    private Object call(Object repository, Method method, Object[] args) {
+        try {
+            return method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 결과가 없어도 되는 임의 값, 모르는 타입이면 null
+    private Object argument(ResolvableType type) {
+        Class<?> raw = type.resolve(Object.class);
+        if (raw == String.class) {
+            return DUMMY;
+        }
+        if (raw == int.class || raw == Integer.class) {
+            return 0;
+        }
+        if (raw == long.class || raw == Long.class) {
+            return 0L;
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return false;
+        }
+        if (Pageable.class.isAssignableFrom(raw)) {
+            return PageRequest.of(0, 1);
+        }
+        if (raw == Sort.class) {
+            return Sort.unsorted();
+        }
+        if (Collection.class.isAssignableFrom(raw)) {
+            Object element = argument(type.asCollection().getGeneric(0));
+            if (element == null) {
+                return null;
+            }
+            return Set.class.isAssignableFrom(raw) ? Set.of(element) : List.of(element);
+        }
+        return null;
+    }
+
+    // 2. 화면에서 자주 쓰는 읽기 쿼리 반복 -> 첫 실행과 반복 후 지연 시간 비교
+    private void runWorkload() {
+        List<Workload> workloads = List.of(
+                new Workload("findMemberDtoPage", () -> memberRepository.findMemberDtoPage(PageRequest.of(0, 5, Sort.by("username")))),
+                new Workload("findMemberDtoKeyset", () -> memberRepository.findMemberDtoKeyset(null, 20)),
+                new Workload("findMemberDto", () -> memberRepository.findMemberDto()),
+                new Workload("findById", () -> memberRepository.findById(1L)));
+
+        for (Workload workload : workloads) {
+            long[] latencies = new long[Math.max(iterations, 1)];
+            try {
+                for (int i = 0; i < latencies.length; i++) {
+                    long start = System.nanoTime();
+                    readOnly.executeWithoutResult(status -> workload.query().get());
+                    latencies[i] = System.nanoTime() - start;
+                }
+            } catch (RuntimeException e) {
+                log.warn("워밍업 실패: {} -> {}", workload.name(), e.toString());
+                continue;
+            }
+            log.info("워밍업 {} -> 첫 실행 {}ms, 안정화 p50 {}ms", workload.name(),
+                    millis(latencies[0]), millis(steadyMedian(latencies)));
+        }
+    }
+
+    // 뒤쪽 절반의 중앙값
+    private static long steadyMedian(long[] latencies) {
+        long[] steady = Arrays.copyOfRange(latencies, latencies.length / 2, latencies.length);
+        Arrays.sort(steady);
+        return steady[steady.length / 2];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    private record Workload(String name, Supplier<Object> query) {
+    }
+}
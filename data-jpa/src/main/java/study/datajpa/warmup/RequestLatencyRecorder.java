@@ -0,0 +1,77 @@
+package study.datajpa.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import study.datajpa.dto.EndpointLatencyDto;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엔드포인트별 첫 요청 지연 시간 vs 안정화된(최근 요청들) 지연 시간 -> /warmup/latency
+ * 워밍업이 잘 됐으면 첫 요청이 안정화 값과 크게 다르지 않아야 함
+ */
+@Component
+public class RequestLatencyRecorder implements HandlerInterceptor {
+
+    private static final String START = RequestLatencyRecorder.class.getName() + ".start";
+    private static final int WINDOW = 256;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (start == null || pattern == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - (long) start;
+        endpoints.computeIfAbsent(request.getMethod() + " " + pattern, key -> new EndpointStats())
+                .record(elapsed);
+    }
+
+    public List<EndpointLatencyDto> snapshot() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .toList();
+    }
+
+    private static final class EndpointStats {
+
+        private long first = -1;
+        private long count;
+        // 첫 요청을 뺀 최근 WINDOW개
+        private final long[] recent = new long[WINDOW];
+
+        synchronized void record(long nanos) {
+            if (first < 0) {
+                first = nanos;
+            } else {
+                recent[(int) (count % WINDOW)] = nanos;
+                count++;
+            }
+        }
+
+        synchronized EndpointLatencyDto toDto(String endpoint) {
+            double steadyP50 = -1;
+            if (count > 0) {
+                long[] window = Arrays.copyOf(recent, (int) Math.min(count, WINDOW));
+                Arrays.sort(window);
+                steadyP50 = window[window.length / 2] / 1_000_000.0;
+            }
+            return new EndpointLatencyDto(endpoint, first / 1_000_000.0, steadyP50, count + 1);
+        }
+    }
+}
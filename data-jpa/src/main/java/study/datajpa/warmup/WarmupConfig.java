@@ -0,0 +1,18 @@
+package study.datajpa.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WarmupConfig implements WebMvcConfigurer {
+
+    private final RequestLatencyRecorder requestLatencyRecorder;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestLatencyRecorder);
+    }
+}
@@ -0,0 +1,119 @@
+package study.datajpa;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기동 시간 비교 -> 프로세스를 띄운 시점부터 /hello, /members/{id}가 처음 200을 줄 때까지
+ * ./gradlew cdsArchive benchmark --tests '*StartupBenchmark' -Pbench.runs=5
+ *
+ * - default   : 기본 설정 (스키마 생성, 샘플 데이터, 워밍업)
+ * - faststart : faststart 프로필
+ * - aot+cds   : faststart + AOT + AppCDS (build/cds/application.jsa가 있을 때만)
+ *
+ * faststart는 스키마를 만들지 않기 때문에 default를 먼저 돌려서 스키마/샘플 회원을 만들어 둠
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    static final int RUNS = Integer.getInteger("bench.runs", 3);
+    static final long MEMBER_ID = Long.getLong("bench.memberId", 1L);
+    static final Path CDS_DIR = Path.of(System.getProperty("bench.cdsDir", "build/cds"));
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void startup() throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> classpath = List.of(java, "-cp", System.getProperty("java.class.path"), DataJpaApplication.class.getName());
+
+        measure("default", classpath, null);
+        measure("faststart", concat(classpath, "--spring.profiles.active=faststart"), null);
+
+        File jar = findJar();
+        if (Files.exists(CDS_DIR.resolve("application.jsa")) && jar != null) {
+            measure("aot+cds", List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                    "-jar", jar.getName(), "--spring.profiles.active=faststart"), CDS_DIR.toFile());
+        } else {
+            System.out.println("[bench] aot+cds 생략 -> ./gradlew cdsArchive 먼저 실행");
+        }
+    }
+
+    private void measure(String name, List<String> command, File workingDir) throws Exception {
+        long helloTotal = 0;
+        long memberTotal = 0;
+        for (int run = 0; run < RUNS; run++) {
+            int port = freePort();
+            ProcessBuilder builder = new ProcessBuilder(concat(command, "--server.port=" + port))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+            if (workingDir != null) {
+                builder.directory(workingDir);
+            }
+
+            long start = System.nanoTime();
+            Process process = builder.start();
+            try {
+                long hello = waitForOk(process, "http://localhost:" + port + "/hello") - start;
+                long member = waitForOk(process, "http://localhost:" + port + "/members/" + MEMBER_ID) - start;
+                helloTotal += hello;
+                memberTotal += member;
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        System.out.printf("[bench] %-10s runs=%d first /hello=%.0fms first /members/%d=%.0fms%n",
+                name, RUNS, helloTotal / RUNS / 1_000_000.0, MEMBER_ID, memberTotal / RUNS / 1_000_000.0);
+    }
+
+    // 200이 올 때까지 폴링, 처음 200을 받은 시각
+    private long waitForOk(Process process, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션 종료됨: exit=" + process.exitValue());
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // 아직 포트가 안 열림
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("응답 없음: " + url);
+    }
+
+    private static File findJar() {
+        File[] jars = CDS_DIR.toFile().listFiles((dir, name) -> name.endsWith(".jar"));
+        return jars == null || jars.length == 0 ? null : jars[0];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> concat(List<String> command, String arg) {
+        List<String> result = new ArrayList<>(command);
+        result.add(arg);
+        return result;
+    }
+}
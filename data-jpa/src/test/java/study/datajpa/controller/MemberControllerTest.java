@@ -0,0 +1,118 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberCursor;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"datajpa.sample-data.enabled=false", "datajpa.export.timeout=5m", "datajpa.export.max-concurrent=1"})
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired MemberExportExecutor exportExecutor;
+
+    private final List<Member> created = new ArrayList<>();
+    private final List<Team> createdTeams = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(created);
+        teamRepository.deleteAllInBatch(createdTeams);
+    }
+
+    // 깨진 커서, 0 이하 size -> 500이 아니라 400
+    @Test
+    public void malformedCursor() throws Exception {
+        mockMvc.perform(get("/members").param("after", "not-a-cursor!")).andExpect(status().isBadRequest());
+        // base64는 맞는데 "{id}:{username}"이 아님
+        mockMvc.perform(get("/members").param("after", "YWJjOnVzZXI")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members").param("after", "").param("size", "0")).andExpect(status().isBadRequest());
+        // 첫 페이지는 그대로
+        mockMvc.perform(get("/members").param("after", "")).andExpect(status().isOk());
+    }
+
+    // 키셋 페이지도 /members처럼 teamName까지
+    @Test
+    public void keysetPageHasTeamName() throws Exception {
+        //given
+        Team team = teamRepository.save(new Team("keysetTeam"));
+        createdTeams.add(team);
+        Member member = memberRepository.save(new Member("keysetDto", 27_001, team));
+        created.add(member);
+        // 바로 앞 커서 -> 이 회원이 첫 줄
+        String after = new MemberCursor("keysetDto", 0L).encode();
+
+        //when
+        String body = mockMvc.perform(get("/members").param("after", after).param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        assertThat(body.contains("\"username\":\"keysetDto\"")).isTrue();
+        assertThat(body.contains("\"teamName\":\"keysetTeam\"")).isTrue();
+    }
+
+    // export만 datajpa.export.timeout, 전 회원이 한 줄씩
+    @Test
+    public void exportTimeout() throws Exception {
+        //given
+        List<Member> members = IntStream.range(0, 3).mapToObj(i -> new Member("export" + i, 27_000)).toList();
+        memberRepository.saveAllInBatch(members);
+        created.addAll(members);
+
+        //when
+        MvcResult started = mockMvc.perform(get("/members/export")).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+
+        //then
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(5 * 60 * 1000L);
+        assertThat(result.getResponse().getContentType()).isEqualTo("application/x-ndjson");
+        String body = result.getResponse().getContentAsString();
+        assertThat(body.lines().filter(line -> line.contains("\"username\":\"export")).count()).isEqualTo(3L);
+        assertThat(body.contains("\"username\":\"export0\"")).isTrue();
+    }
+
+    // export 전용 스레드가 꽉 차면 기다리지 않고 503
+    @Test
+    public void exportRejectedWhenFull() throws Exception {
+        //given -> 하나뿐인 export 자리를 잡아둠
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = exportExecutor.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            //when then
+            mockMvc.perform(get("/members/export")).andExpect(status().isServiceUnavailable());
+        } finally {
+            release.countDown();
+            running.get();
+        }
+    }
+}
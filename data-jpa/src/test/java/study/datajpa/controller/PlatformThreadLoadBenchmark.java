@@ -0,0 +1,16 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Tomcat 기본 스레드 풀 (server.tomcat.threads.max=200)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+@Tag("benchmark")
+class PlatformThreadLoadBenchmark extends ThreadModelLoadBenchmark {
+
+    @Override
+    String threadModel() {
+        return "platform";
+    }
+}
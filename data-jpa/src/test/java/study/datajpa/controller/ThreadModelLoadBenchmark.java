@@ -0,0 +1,105 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementBudget;
+import study.datajpa.repository.MemberRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * 플랫폼 스레드 vs 가상 스레드 부하 비교 (PlatformThreadLoadBenchmark, VirtualThreadLoadBenchmark)
+ * ./gradlew benchmark --tests '*ThreadLoadBenchmark' -Pbench.concurrency=1000 -Pbench.requests=50000
+ *
+ * 동시 요청 수(bench.concurrency)만큼 계속 /members, /members/{id}를 보내고 처리량/지연시간을 출력
+ */
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+abstract class ThreadModelLoadBenchmark {
+
+    static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 500);
+    static final int REQUESTS = Integer.getInteger("bench.requests", 20_000);
+
+    @LocalServerPort int port;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void memberPage() throws Exception {
+        load("/members", i -> "/members?page=" + (i % 20));
+    }
+
+    @Test
+    void memberById() throws Exception {
+        // MemberController.init이 넣은 회원 id 중에서 고름
+        List<Long> ids = memberRepository.findAll().stream().map(Member::getId).toList();
+        load("/members/{id}", i -> "/members/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    private void load(String name, IntFunction<String> path) throws Exception {
+        // 부하를 거는 쪽이 병목이 되지 않게 클라이언트는 항상 가상 스레드
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            // 워밍업 (JIT, 커넥션 풀)
+            run(http, clients, path, Math.min(REQUESTS, 2_000));
+
+            long start = System.nanoTime();
+            Result result = run(http, clients, path, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long[] latencies = result.latencies();
+            Arrays.sort(latencies);
+            System.out.printf("[bench] %-8s %-14s concurrency=%d requests=%d errors=%d req/sec=%.0f p50=%.1fms p99=%.1fms max=%.1fms%n",
+                    threadModel(), name, CONCURRENCY, REQUESTS, result.errors(), REQUESTS / seconds,
+                    millis(latencies, 0.50), millis(latencies, 0.99), millis(latencies, 1.0));
+        }
+    }
+
+    private Result run(HttpClient http, ExecutorService clients, IntFunction<String> path, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int n = i;
+            clients.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path.apply(n))).build();
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    latencies[n] = System.nanoTime() - start;
+                    inFlight.release();
+                }
+            });
+        }
+        // 남은 요청이 다 끝날 때까지 대기
+        inFlight.acquire(CONCURRENCY);
+        return new Result(latencies, errors.get());
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    abstract String threadModel();
+
+    private record Result(long[] latencies, int errors) {
+    }
+}
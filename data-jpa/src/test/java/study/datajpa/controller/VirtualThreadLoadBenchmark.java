@@ -0,0 +1,17 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// application-virtual.properties -> 요청마다 가상 스레드 + ConnectionAdmission
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual")
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark extends ThreadModelLoadBenchmark {
+
+    @Override
+    String threadModel() {
+        return "virtual";
+    }
+}
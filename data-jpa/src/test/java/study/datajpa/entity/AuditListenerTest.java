@@ -0,0 +1,50 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@SpringBootTest(properties = "datajpa.auditing.mode=fast")
+@Transactional
+class AuditListenerTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void fastMode() throws Exception {
+        //given
+        Member member1 = new Member("audit1", 18_000);
+        Member member2 = new Member("audit2", 18_000);
+
+        //when
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+
+        //then
+        // auditorProvider는 호출마다 새 UUID -> 같다면 트랜잭션에서 한 번만 조회한 것
+        assertThat(member1.getCreatedBy()).isNotNull();
+        assertThat(member2.getCreatedBy()).isEqualTo(member1.getCreatedBy());
+        assertThat(member1.getLastModifiedBy()).isEqualTo(member1.getCreatedBy());
+        // flush 전까지는 같은 시간
+        assertThat(member1.getCreatedDate()).isNotNull();
+        assertThat(member2.getCreatedDate()).isEqualTo(member1.getCreatedDate());
+        assertThat(member1.getLastModifiedDate()).isEqualTo(member1.getCreatedDate());
+
+        //when
+        Thread.sleep(5);
+        member1.setUsername("audit1-updated");
+        em.flush();
+
+        //then
+        // flush가 끝나면 시계를 다시 읽음
+        assertThat(member1.getLastModifiedDate()).isAfter(member1.getCreatedDate());
+        assertThat(member1.getLastModifiedBy()).isEqualTo(member1.getCreatedBy());
+        assertThat(member2.getLastModifiedDate()).isEqualTo(member2.getCreatedDate());
+    }
+}
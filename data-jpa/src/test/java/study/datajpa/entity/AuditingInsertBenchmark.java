@@ -0,0 +1,64 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.jdbc.StatementBudget;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.stream.IntStream;
+
+/**
+ * 감사 모드별 대량 insert 비교 (SpringAuditingInsertBenchmark, FastAuditingInsertBenchmark, NoAuditingInsertBenchmark)
+ * ./gradlew benchmark --tests '*AuditingInsertBenchmark' -Pbench.rows=1000000
+ *
+ * saveAllInBatch()로 같은 회원 데이터를 넣고 rows/sec 출력 -> 차이가 감사 비용
+ */
+@Tag("benchmark")
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+abstract class AuditingInsertBenchmark {
+
+    static final int ROWS = Integer.getInteger("bench.rows", 200_000);
+    // 이번 실행이 넣은 회원만 골라 지우려고 username 앞에 붙임
+    static final String PREFIX = "audit" + Long.toString(System.nanoTime(), 36) + "-";
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+    @Value("${datajpa.auditing.mode}") String mode;
+
+    // 같은 컨텍스트(DB)를 쓰는 다른 테스트의 회원은 그대로 둠
+    @AfterEach
+    void cleanUp() {
+        deleteInserted();
+    }
+
+    @Test
+    void saveAllInBatch() {
+        // 워밍업 (JIT, 커넥션 풀)
+        insert(Math.min(ROWS, 10_000));
+        deleteInserted();
+
+        long start = System.nanoTime();
+        insert(ROWS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("[bench] auditing=%-6s rows=%d time=%.2fs rows/sec=%.0f%n", mode, ROWS, seconds, ROWS / seconds);
+    }
+
+    private void insert(int rows) {
+        Iterable<Member> members = () -> IntStream.range(0, rows)
+                .mapToObj(i -> new Member(PREFIX + i, i % 100))
+                .iterator();
+        memberRepository.saveAllInBatch(members);
+    }
+
+    private void deleteInserted() {
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("delete from Member m where m.username like :prefix")
+                .setParameter("prefix", PREFIX + "%")
+                .executeUpdate());
+    }
+}
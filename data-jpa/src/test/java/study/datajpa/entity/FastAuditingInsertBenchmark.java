@@ -0,0 +1,9 @@
+package study.datajpa.entity;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"datajpa.auditing.mode=fast", "datajpa.warmup.enabled=false"})
+@Tag("benchmark")
+class FastAuditingInsertBenchmark extends AuditingInsertBenchmark {
+}
@@ -0,0 +1,60 @@
+package study.datajpa.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// 허가 2개, 풀은 기본 10개 -> 세 번째 getConnection()은 풀에 여유가 있어도 입장 대기에서 막힘
+@SpringBootTest(properties = {
+        "datajpa.admission.enabled=true",
+        "datajpa.admission.max-concurrent=2",
+        "datajpa.admission.timeout=200ms",
+        "datajpa.warmup.enabled=false"
+})
+class ConnectionAdmissionTest {
+
+    @Autowired DataSource dataSource;
+
+    @Test
+    public void dataSourceIsWrapped() throws Exception {
+        assertThat(dataSource).isInstanceOf(AdmissionControlDataSource.class);
+        // 안쪽 Hikari 풀은 unwrap으로 그대로 찾을 수 있음 (ConnectionPoolPressure, 메트릭)
+        assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
+        assertThat(dataSource.unwrap(AdmissionControlDataSource.class).getMaxConcurrent()).isEqualTo(2);
+    }
+
+    @Test
+    public void limitsGetConnection() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        AdmissionControlDataSource admission = dataSource.unwrap(AdmissionControlDataSource.class);
+
+        try (Connection first = dataSource.getConnection();
+             Connection second = dataSource.getConnection()) {
+            assertThat(admission.availablePermits()).isEqualTo(0);
+
+            //when -> 허가가 없음
+            long start = System.nanoTime();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+            //then -> timeout만큼 기다렸고, 풀까지는 안 감
+            assertThat((System.nanoTime() - start) / 1_000_000).isGreaterThanOrEqualTo(200L);
+            assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isEqualTo(2);
+            assertThat(admission.availablePermits()).isEqualTo(0);
+        }
+
+        // close -> 허가 반환, 다시 받을 수 있음
+        assertThat(admission.availablePermits()).isEqualTo(2);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(admission.availablePermits()).isEqualTo(1);
+        }
+        assertThat(admission.availablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,100 @@
+package study.datajpa.jdbc;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class StatementBudgetTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    public void detectNPlusOne(){
+        //given -> 회원 3명, 각각 다른 팀
+        saveMembersWithTeams(11_000);
+
+        //when -> 페치 조인 없이 조회 후 member.team.name 접근 -> 팀 select 3번
+        // datajpa.fetch.default-batch-size가 묶어버리지 않게 이 세션은 배치 페치를 끔
+        em.unwrap(Session.class).setFetchBatchSize(1);
+        StatementScope scope = StatementScope.open("nPlusOne");
+        List<Member> members = memberRepository.findByAgeKeyset(11_000, null, 10).getContent();
+        for (Member member : members) {
+            member.getTeam().getName();
+        }
+        StatementReport report = scope.close();
+
+        //then
+        List<String> violations = report.violations(-1, 1);
+        assertThat(violations).hasSize(1);
+
+        ShapeCount repeated = report.getShapes().stream()
+                .filter(shape -> shape.getCount() == 3)
+                .findFirst().get();
+        assertThat(repeated.getRepositoryMethod()).isNull(); // 레포지토리 밖 지연 로딩
+        assertThat(repeated.getCaller()).contains("StatementBudgetTest.detectNPlusOne");
+
+        ShapeCount query = report.getShapes().get(0);
+        assertThat(query.getRepositoryMethod()).isEqualTo("MemberRepository.findByAgeKeyset");
+    }
+
+    // 페치 조인이면 반복 select가 없어서 예산 안에 들어옴
+    @Test
+    @StatementBudget(maxRepeated = 1)
+    public void fetchJoinWithinBudget(){
+        saveMembersWithTeams(11_001);
+
+        List<Member> members = memberRepository.findMemberFetchJoin();
+        for (Member member : members) {
+            if (member.getTeam() != null) {
+                member.getTeam().getName();
+            }
+        }
+    }
+
+    // IN 파라미터 개수만 다르면 같은 모양 (수천 개여도)
+    @Test
+    public void inListFingerprint(){
+        String small = "select m1_0.member_id from member m1_0 where m1_0.username in (?, ?)";
+        String large = "select m1_0.member_id from member m1_0 where m1_0.username in ("
+                + String.join(",", Collections.nCopies(4_096, "?")) + ")";
+
+        assertThat(SqlFingerprint.of(large)).isEqualTo(SqlFingerprint.of(small));
+        assertThat(SqlFingerprint.of(small)).isEqualTo("select m1_0.member_id from member m1_0 where m1_0.username in (?+)");
+    }
+
+    // 긴 문자열 리터럴(이스케이프된 ' 포함)도 스택 넘침 없이 ? 하나로
+    @Test
+    public void longStringLiteralFingerprint(){
+        String literal = "it''s " + "x".repeat(100_000);
+        String sql = "select m1_0.member_id from member m1_0 where m1_0.username = '" + literal + "' and m1_0.age = 10";
+
+        assertThat(SqlFingerprint.of(sql)).isEqualTo("select m1_0.member_id from member m1_0 where m1_0.username = ? and m1_0.age = ?");
+    }
+
+    private void saveMembersWithTeams(int age) {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("budgetTeam" + i);
+            teamRepository.save(team);
+            memberRepository.save(new Member("budget" + i, age, team));
+        }
+        em.flush();
+        em.clear();
+    }
+}
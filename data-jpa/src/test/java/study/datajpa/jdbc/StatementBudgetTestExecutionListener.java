@@ -0,0 +1,69 @@
+package study.datajpa.jdbc;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+import java.util.List;
+
+/**
+ * 테스트 메소드 단위로 SQL 수를 셈
+ * - @StatementBudget이 붙은 테스트 -> 그 예산을 넘으면 실패
+ * - 안 붙은 테스트 -> datajpa.statement-budget.* 기본값을 넘으면 실패
+ * 일부러 SQL을 많이 내는 테스트(벌크, 벤치마크 등)는 @StatementBudget(maxStatements = -1, maxRepeated = -1)로 명시해서 뺌
+ *
+ * TransactionalTestExecutionListener(4000)보다 바깥에서 돌아야 커밋 시점 flush까지 같이 셈
+ */
+public class StatementBudgetTestExecutionListener extends AbstractTestExecutionListener {
+
+    private static final String SCOPE = StatementBudgetTestExecutionListener.class.getName() + ".scope";
+
+    @Override
+    public int getOrder() {
+        return 3900;
+    }
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        // 인프라 패키지에 있는 테스트(StatementBudgetTest 등)도 N+1 호출 위치로 잡히게
+        StatementScope.registerApplicationClass(testContext.getTestClass());
+        String name = testContext.getTestClass().getSimpleName() + "." + testContext.getTestMethod().getName();
+        testContext.setAttribute(SCOPE, StatementScope.open(name));
+    }
+
+    @Override
+    public void afterTestMethod(TestContext testContext) {
+        StatementScope scope = (StatementScope) testContext.removeAttribute(SCOPE);
+        if (scope == null) {
+            return;
+        }
+        StatementReport report = scope.close();
+
+        StatementBudget budget = findBudget(testContext);
+        if (budget != null) {
+            List<String> violations = report.violations(budget.maxStatements(), budget.maxRepeated());
+            if (!violations.isEmpty()) {
+                throw new AssertionError("SQL 예산 초과 " + report + "\n  " + String.join("\n  ", violations));
+            }
+            return;
+        }
+
+        Environment env = testContext.getApplicationContext().getEnvironment();
+        List<String> violations = report.violations(
+                env.getProperty("datajpa.statement-budget.max-statements", Integer.class, -1),
+                env.getProperty("datajpa.statement-budget.max-repeated", Integer.class, -1));
+        if (!violations.isEmpty()) {
+            throw new AssertionError("SQL 예산(datajpa.statement-budget.*) 초과 " + report + "\n  " + String.join("\n  ", violations)
+                    + "\n  일부러 많이 내는 테스트면 @StatementBudget(maxStatements = -1, maxRepeated = -1)");
+        }
+    }
+
+    private StatementBudget findBudget(TestContext testContext) {
+        StatementBudget budget = AnnotatedElementUtils.findMergedAnnotation(testContext.getTestMethod(), StatementBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(testContext.getTestClass(), StatementBudget.class);
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,81 @@
+package study.datajpa.jdbc.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.datajpa.dto.SlowQueryDto;
+import study.datajpa.dto.SqlFingerprintStatsDto;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// slow-threshold=0 -> 모든 SQL이 느린 SQL로 잡힘, /actuator/sql은 기본으로 안 열려서 여기서만 노출
+@SpringBootTest(properties = {"datajpa.sql-analytics.slow-threshold=0ms", "datajpa.warmup.enabled=false",
+        "management.endpoints.web.exposure.include=sql"})
+@AutoConfigureMockMvc
+class SqlAnalyticsTest {
+
+    @Autowired SqlAnalyticsEndpoint sqlAnalyticsEndpoint;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MockMvc mockMvc;
+
+    @Test
+    public void fingerprintAndSlowQuery(){
+        //given
+        sqlAnalyticsEndpoint.reset();
+
+        //when
+        memberRepository.findByUsername("analytics1");
+        memberRepository.findByUsername("analytics2");
+
+        //then
+        // 바인드 값만 다른 두 번 -> fingerprint 하나에 2번
+        SqlFingerprintStatsDto stats = sqlAnalyticsEndpoint.top("count", 100).fingerprints().stream()
+                .filter(dto -> dto.getFingerprint().startsWith("select") && dto.getFingerprint().contains("username=?"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(stats.getCount()).isEqualTo(2L);
+        assertThat(stats.getP99Millis()).isGreaterThan(0.0);
+        assertThat(stats.getMaxMillis()).isGreaterThanOrEqualTo(stats.getMeanMillis());
+
+        // 느린 SQL은 바인드 값 + 레포지토리 메소드까지
+        SlowQueryDto slowQuery = sqlAnalyticsEndpoint.top(null, null).slowQueries().stream()
+                .filter(dto -> dto.getSql().contains("'analytics1'"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(slowQuery.getRepository()).isEqualTo("MemberRepository.findByUsername");
+        assertThat(slowQuery.getFingerprint()).isEqualTo(stats.getFingerprint());
+    }
+
+    // 모르는 orderBy, 음수 limit -> 400
+    @Test
+    public void invalidTopRequest() throws Exception {
+        mockMvc.perform(get("/actuator/sql").param("orderBy", "nope")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/actuator/sql").param("limit", "-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/actuator/sql").param("orderBy", "p99").param("limit", "5")).andExpect(status().isOk());
+    }
+
+    // 버킷 상한은 실제 값 이상, 12.5% 이내
+    @Test
+    public void histogramPercentile(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L); // 1ms ~ 1000ms
+        }
+
+        long p99 = histogram.percentile(0.99);
+        assertThat(p99).isGreaterThanOrEqualTo(990_000_000L);
+        assertThat(p99).isLessThanOrEqualTo((long) (990_000_000L * 1.125));
+
+        for (int i = 0; i < 10_000; i++) {
+            long nanos = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+            assertThat(LatencyHistogram.upperBound(LatencyHistogram.bucket(nanos))).isGreaterThanOrEqualTo(nanos);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package study.datajpa.jdbc.routing;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// 라우팅 + 입장 제한 -> 허가는 풀마다 따로 (max-concurrent=1)
+// 프라이머리 허가를 다 쓰고 있어도 읽기 전용 트랜잭션은 복제본 허가로 커넥션을 받음
+@SpringBootTest(properties = {
+        "datajpa.routing.enabled=true",
+        "datajpa.routing.replicas[0].url=jdbc:h2:mem:admissionReplica;DB_CLOSE_DELAY=-1",
+        "datajpa.routing.health-check-interval=1h",
+        "datajpa.admission.enabled=true",
+        "datajpa.admission.max-concurrent=1",
+        "datajpa.admission.timeout=200ms",
+        // 복제본에는 테이블이 없음
+        "datajpa.warmup.enabled=false"
+})
+class ReadWriteRoutingAdmissionTest {
+
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManager em;
+
+    @Test
+    public void replicaHasItsOwnPermits(){
+        //given
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+        read.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        //when -> 프라이머리 커넥션(허가 1개)을 잡은 채로 읽기
+        String readUrl = write.execute(status -> {
+            em.unwrap(Session.class).doWork(connection -> connection.getMetaData());
+            return read.execute(readStatus -> em.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getURL()));
+        });
+
+        //then
+        assertThat(readUrl).contains("admissionReplica");
+    }
+}
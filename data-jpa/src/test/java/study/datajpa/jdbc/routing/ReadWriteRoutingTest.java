@@ -0,0 +1,90 @@
+package study.datajpa.jdbc.routing;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// 복제본 대신 인메모리 H2(replica0), 죽은 복제본(replica1)
+// 헬스 체크는 테스트에서 직접 호출
+@SpringBootTest(properties = {
+        "datajpa.routing.enabled=true",
+        "datajpa.routing.replicas[0].url=jdbc:h2:mem:replica0;DB_CLOSE_DELAY=-1",
+        "datajpa.routing.replicas[1].url=jdbc:h2:tcp://localhost:1/~/replica1",
+        "datajpa.routing.lag-query=select seconds from replication_lag",
+        "datajpa.routing.max-lag=10s",
+        "datajpa.routing.health-check-interval=1h",
+        // 복제본(replica0)에는 테이블이 없음
+        "datajpa.warmup.enabled=false"
+})
+class ReadWriteRoutingTest {
+
+    @Autowired ReadWriteDataSources readWriteDataSources;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManager em;
+
+    @BeforeEach
+    void replicaLag() throws SQLException {
+        setLag(0);
+    }
+
+    @Test
+    public void readOnlyGoesToReplica(){
+        //when
+        String readUrl = connectionUrl(true);
+        String writeUrl = connectionUrl(false);
+
+        //then
+        assertThat(readUrl).contains("replica0");
+        assertThat(writeUrl).doesNotContain("replica");
+        assertThat(replica(1).isAvailable()).isFalse();
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimary() throws SQLException {
+        //given
+        setLag(100);
+        long fallbacks = readWriteDataSources.replicas().getPrimaryFallbacks();
+
+        //when
+        String readUrl = connectionUrl(true);
+
+        //then
+        assertThat(replica(0).isAvailable()).isFalse();
+        assertThat(replica(0).getLagSeconds()).isEqualTo(100L);
+        assertThat(readUrl).doesNotContain("replica");
+        assertThat(readWriteDataSources.replicas().getPrimaryFallbacks()).isEqualTo(fallbacks + 1);
+    }
+
+    private String connectionUrl(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> em.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getURL()));
+    }
+
+    private void setLag(int seconds) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:replica0", "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists replication_lag(seconds int)");
+            statement.execute("delete from replication_lag");
+            statement.execute("insert into replication_lag values (" + seconds + ")");
+        }
+        readWriteDataSources.replicas().checkHealth();
+    }
+
+    private ReplicaRoutingDataSource.Replica replica(int index) {
+        return readWriteDataSources.replicas().getReplicas().get(index);
+    }
+}
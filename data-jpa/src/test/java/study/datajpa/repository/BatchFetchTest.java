@@ -0,0 +1,112 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.jdbc.StatementBudget;
+import study.datajpa.jdbc.StatementReport;
+import study.datajpa.jdbc.StatementScope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// 팀 1000개 x 회원 2명을 돌 때 select 수
+// 테스트 트랜잭션 안에서 넣은 데이터라 2차 캐시에는 없음 -> 전부 DB 조회
+@SpringBootTest
+@Transactional
+// 준비 데이터 insert만 100건 가까이 -> 쿼리 수는 테스트 안에서 StatementScope로 직접 검사
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+class BatchFetchTest {
+
+    static final int TEAMS = 1000;
+    static final int AGE = 14_000;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @PersistenceContext EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        List<Team> teams = new ArrayList<>();
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team("batchTeam" + i);
+            teams.add(team);
+            members.add(new Member("batchA" + i, AGE, team));
+            members.add(new Member("batchB" + i, AGE, team));
+        }
+        // saveAllInBatch가 flush + clear까지 해줌 -> 영속성 컨텍스트 비어 있음
+        teamRepository.saveAllInBatch(teams);
+        memberRepository.saveAllInBatch(members);
+    }
+
+    // Team.members @BatchSize(100) -> 팀 조회 1 + members 1000/100
+    @Test
+    public void teamMembersBatchSize(){
+        StatementReport report = count(() -> walkMembers(
+                em.createQuery("select t from Team t where t.name like 'batchTeam%'", Team.class).getResultList()));
+
+        assertThat(report.selectCount()).isEqualTo(1 + TEAMS / 100);
+    }
+
+    // @FetchTuning(subselect = true) -> 팀 조회 1 + members 1
+    @Test
+    public void teamMembersSubselect(){
+        StatementReport report = count(() -> walkMembers(teamRepository.findByNamePrefix("batchTeam")));
+
+        assertThat(report.selectCount()).isEqualTo(2);
+    }
+
+    // datajpa.fetch.default-batch-size=100 -> 회원 조회 1 + 팀 프록시 1000/100
+    @Test
+    public void memberTeamDefaultBatch(){
+        StatementReport report = count(() -> walkTeams(
+                em.createQuery("select m from Member m where m.age = :age", Member.class)
+                        .setParameter("age", AGE)
+                        .getResultList()));
+
+        assertThat(report.selectCount()).isEqualTo(1 + TEAMS / 100);
+    }
+
+    // @FetchTuning(batchSize = 250) -> 회원 조회 1 + 팀 프록시 1000/250
+    @Test
+    public void memberTeamPerQueryBatch(){
+        StatementReport report = count(() -> walkTeams(memberRepository.findTeamBatchByAge(AGE)));
+
+        assertThat(report.selectCount()).isEqualTo(1 + TEAMS / 250);
+    }
+
+    private StatementReport count(Supplier<Integer> walk) {
+        StatementScope scope = StatementScope.open("batchFetch");
+        int visited = walk.get();
+        StatementReport report = scope.close();
+        assertThat(visited).isEqualTo(TEAMS * 2);
+        return report;
+    }
+
+    private int walkMembers(List<Team> teams) {
+        int count = 0;
+        for (Team team : teams) {
+            count += team.getMembers().size();
+        }
+        return count;
+    }
+
+    private int walkTeams(List<Member> members) {
+        int count = 0;
+        for (Member member : members) {
+            member.getTeam().getName();
+            count++;
+        }
+        return count;
+    }
+}
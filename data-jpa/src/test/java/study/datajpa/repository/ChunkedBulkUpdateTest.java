@@ -0,0 +1,101 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementBudget;
+import study.datajpa.repository.support.BulkUpdateResult;
+import study.datajpa.repository.support.ChunkOptions;
+import study.datajpa.repository.support.ChunkProgress;
+
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+// 청크마다 별도 트랜잭션으로 커밋되기 때문에 테스트 트랜잭션 없이 검증
+@SpringBootTest
+class ChunkedBulkUpdateTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+
+    @Test
+    public void bulkAgePlusChunked(){
+        //given
+        List<Member> members = IntStream.range(0, 30).mapToObj(i -> new Member("chunk" + i, 12_000)).toList();
+        memberRepository.saveAllInBatch(members);
+        long expected = countAgeFrom(12_000);
+        ConcurrentLinkedQueue<ChunkProgress> progress = new ConcurrentLinkedQueue<>();
+
+        //when -> 4개 파티션, 청크 하나에 id 10개
+        BulkUpdateResult result = memberRepository.bulkAgePlusChunked(12_000,
+                ChunkOptions.ofChunkSize(10).withParallelism(4).withProgress(progress::add));
+
+        //then
+        assertThat(result.affectedRows()).isEqualTo(expected);
+        assertThat((long) progress.size()).isEqualTo(result.chunks());
+        assertThat(progress.stream().mapToLong(ChunkProgress::rows).sum()).isEqualTo(expected);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(12_001);
+    }
+
+    @Test
+    @StatementBudget(maxStatements = -1, maxRepeated = -1)
+    public void throttledChunks(){
+        //given
+        memberRepository.saveAllInBatch(IntStream.range(0, 200).mapToObj(i -> new Member("throttle" + i, 13_000)).toList());
+        long expected = countAgeFrom(13_000);
+
+        //when -> 초당 1000건 제한
+        BulkUpdateResult result = memberJpaRepository.bulkAgePlusChunked(13_000,
+                ChunkOptions.ofChunkSize(50).withMaxRowsPerSecond(1_000));
+
+        //then -> row 하나에 1ms 이상
+        assertThat(result.affectedRows()).isEqualTo(expected);
+        assertThat(result.elapsed().toMillis()).isGreaterThanOrEqualTo(expected);
+    }
+
+    // 뒤 파티션이 실패하면 앞 파티션도 남은 청크를 안 돌고 바로 멈춤
+    @Test
+    public void failedPartitionStopsOthers(){
+        //given -> 파티션 2개, 청크 20개쯤 (ChunkedBulkUpdater가 나누는 방식과 같게 뒤 파티션 시작 id 계산)
+        memberRepository.saveAllInBatch(IntStream.range(0, 100).mapToObj(i -> new Member("failfast" + i, 14_000)).toList());
+        LongSummaryStatistics ids = memberRepository.findAll().stream().mapToLong(Member::getId).summaryStatistics();
+        long span = ids.getMax() - ids.getMin() + 1;
+        int chunkSize = (int) Math.ceil(span / 20.0);
+        long chunksPerPartition = (long) Math.ceil(Math.ceil((double) span / chunkSize) / 2);
+        long secondPartitionFrom = ids.getMin() + chunksPerPartition * chunkSize;
+        AtomicInteger firstPartitionChunks = new AtomicInteger();
+
+        //when -> 앞 파티션은 청크마다 느리고, 뒤 파티션은 첫 청크에서 실패
+        assertThatThrownBy(() -> memberRepository.bulkAgePlusChunked(14_000,
+                ChunkOptions.ofChunkSize(chunkSize).withParallelism(2).withProgress(progress -> {
+                    if (progress.fromId() >= secondPartitionFrom) {
+                        throw new IllegalStateException("fail");
+                    }
+                    firstPartitionChunks.incrementAndGet();
+                    sleep(50);
+                }))).hasMessage("fail");
+
+        //then -> 앞 파티션이 자기 청크를 끝까지 돌지 않음
+        assertThat((long) firstPartitionChunks.get()).isLessThan(chunksPerPartition);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long countAgeFrom(int age) {
+        return memberRepository.findAll().stream().filter(m -> m.getAge() >= age).count();
+    }
+}
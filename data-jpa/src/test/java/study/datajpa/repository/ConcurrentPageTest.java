@@ -0,0 +1,104 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementReport;
+import study.datajpa.jdbc.StatementScope;
+import study.datajpa.repository.support.ConcurrentPageExecutor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// count 쿼리가 다른 스레드/트랜잭션에서 도는지 -> 호출한 스레드의 StatementScope에 count가 안 잡힘
+// 기본은 꺼져 있어서 켜고 테스트
+@SpringBootTest(properties = {"datajpa.paging.concurrent-count=true", "datajpa.paging.count-start-timeout=100ms"})
+class ConcurrentPageTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired ConcurrentPageExecutor pageExecutor;
+
+    @Test
+    public void countRunsConcurrently(){
+        //given -> 저장하면 count 캐시 무효화
+        memberRepository.saveAllInBatch(IntStream.range(0, 7).mapToObj(i -> new Member("concurrent" + i, 15_000)).toList());
+
+        //when
+        StatementScope scope = StatementScope.open("concurrentPage");
+        Page<Member> page = memberRepository.findByAgeWithCachedCount(15_000, PageRequest.of(0, 3));
+        StatementReport report = scope.close();
+
+        //then -> content select만 이 스레드에서
+        assertThat(page.getContent().size()).isEqualTo(3);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(7L);
+        assertThat(report.selectCount()).isEqualTo(1);
+    }
+
+    // 파생 쿼리 자리의 findByAge(int, Pageable)도 같은 경로 (MemberRepositoryImpl)
+    @Test
+    public void derivedFindByAgeRunsConcurrently(){
+        //given
+        memberRepository.saveAllInBatch(IntStream.range(0, 5).mapToObj(i -> new Member("derived" + i, 15_002)).toList());
+
+        //when
+        StatementScope scope = StatementScope.open("concurrentDerivedPage");
+        Page<Member> page = memberRepository.findByAge(15_002, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username")));
+        StatementReport report = scope.close();
+
+        //then -> 정렬/페이징은 파생 쿼리와 같고, count는 다른 스레드에서
+        assertThat(page.getContent().size()).isEqualTo(2);
+        assertThat(page.getContent().get(0).getUsername()).isEqualTo("derived4");
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(5L);
+        assertThat(report.selectCount()).isEqualTo(1);
+    }
+
+    // 커넥션을 받은 count는 count-start-timeout보다 느려도 끝까지 기다림 -> 취소하고 다시 세지 않음
+    @Test
+    public void slowCountIsNotRerun(){
+        //given
+        AtomicInteger counts = new AtomicInteger();
+
+        //when
+        Page<String> page = pageExecutor.page(PageRequest.of(0, 1), () -> List.of("slow"), () -> {
+            counts.incrementAndGet();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42L;
+        });
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(42L);
+        assertThat(counts.get()).isEqualTo(1);
+    }
+
+    // 읽기/쓰기 트랜잭션 안이면 커밋 안 된 변경까지 세야 해서 같은 커넥션에서 순차 실행
+    @Test
+    public void sequentialInReadWriteTransaction(){
+        StatementReport report = transactionTemplate.execute(status -> {
+            memberRepository.save(new Member("sequential", 15_001));
+
+            StatementScope scope = StatementScope.open("sequentialPage");
+            Page<Member> page = memberRepository.findByAgeWithCachedCount(15_001, PageRequest.of(0, 1));
+            StatementReport sequential = scope.close();
+
+            assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(1L);
+            status.setRollbackOnly();
+            return sequential;
+        });
+
+        // content + count
+        assertThat(report.selectCount()).isEqualTo(2);
+    }
+}
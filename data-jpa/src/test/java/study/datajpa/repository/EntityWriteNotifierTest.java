@@ -0,0 +1,80 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.support.EntityWriteListener;
+import study.datajpa.repository.support.EntityWriteNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// 트랜잭션 안에서 save를 여러 번 -> 트랜잭션 종료 후 알림은 도메인 타입마다 한 번
+@SpringBootTest
+class EntityWriteNotifierTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityWriteNotifier notifier;
+    @Autowired RecordingListener listener;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(memberRepository.findListByUsername("notifier"));
+        teamRepository.deleteAllInBatch(teamRepository.findAll().stream().filter(team -> "notifierTeam".equals(team.getName())).toList());
+    }
+
+    @Test
+    public void oneSynchronizationPerTransaction(){
+        //given
+        int[] synchronizations = new int[2];
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            memberRepository.save(new Member("notifier", 26_000));
+            synchronizations[0] = TransactionSynchronizationManager.getSynchronizations().size();
+            for (int i = 0; i < 99; i++) {
+                memberRepository.save(new Member("notifier", 26_000));
+            }
+            teamRepository.save(new Team("notifierTeam"));
+            synchronizations[1] = TransactionSynchronizationManager.getSynchronizations().size();
+            listener.writes.clear();
+        });
+
+        //then -> 쓰기가 늘어도 등록된 동기화 수는 그대로, 커밋 후엔 타입마다 한 번씩
+        assertThat(synchronizations[1]).isEqualTo(synchronizations[0]);
+        assertThat(listener.writes).isEqualTo(List.of(Member.class, Team.class));
+        assertThat(TransactionSynchronizationManager.hasResource(notifier)).isFalse();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements EntityWriteListener {
+
+        final List<Class<?>> writes = new ArrayList<>();
+
+        @Override
+        public synchronized void onWrite(Class<?> domainType, boolean bulk) {
+            if (domainType == Member.class || domainType == Team.class) {
+                writes.add(domainType);
+            }
+        }
+    }
+}
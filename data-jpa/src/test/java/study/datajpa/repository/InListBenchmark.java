@@ -0,0 +1,108 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementBudget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * 이름 IN 조회: findByNames(IN 한 방) vs findByNamesChunked(청크 순차) vs findByNamesParallel(청크 동시)
+ * ./gradlew benchmark --tests '*InListBenchmark' -Pbench.inListSizes=10,1000,100000 -Pbench.iterations=20
+ *
+ * 크기마다 리스트 길이를 n의 7/8 ~ n 사이로 흔들어서 조회 -> 길이가 매번 다를 때 플랜 캐시가 얼마나 늘어나는지
+ * 출력: 지연 p50/p99, Hibernate 쿼리 플랜 캐시 miss/hit, 조회당 prepared statement 수
+ * IN 한 방이 DB 파라미터 한도 등으로 실패하면 실패로 출력하고 계속
+ */
+@SpringBootTest(properties = {
+        "datajpa.warmup.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // 같은 이름 리스트가 쿼리 캐시에 맞아서 DB를 안 가는 경우는 빼고 비교
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@Tag("benchmark")
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+class InListBenchmark {
+
+    static final int MEMBERS = Integer.getInteger("bench.members", 100_000);
+    static final int ITERATIONS = Integer.getInteger("bench.iterations", 20);
+    static final int[] SIZES = Arrays.stream(System.getProperty("bench.inListSizes", "10,1000,100000").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManagerFactory emf;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void inList() {
+        memberRepository.saveAllInBatch(() -> IntStream.range(0, MEMBERS)
+                .mapToObj(i -> new Member("in" + i, i % 100))
+                .iterator());
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        for (int size : SIZES) {
+            run("single in", size, statistics, names -> memberRepository.findByNames(names));
+            run("chunked", size, statistics, names -> memberRepository.findByNamesChunked(names));
+            run("parallel", size, statistics, names -> memberRepository.findByNamesParallel(names));
+        }
+    }
+
+    private void run(String name, int size, Statistics statistics, Function<List<String>, List<Member>> query) {
+        try {
+            // 워밍업 (JIT, 커넥션 풀)
+            for (int i = 0; i < 3; i++) {
+                query.apply(names(size));
+            }
+
+            statistics.clear();
+            long[] nanos = new long[ITERATIONS];
+            long rows = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                List<String> names = names(size);
+                long start = System.nanoTime();
+                rows += query.apply(names).size();
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("[bench] %-9s names=%-6d p50=%.2fms p99=%.2fms rows/op=%d planCacheMiss=%d planCacheHit=%d statements/op=%.1f%n",
+                    name, size, millis(nanos, 0.5), millis(nanos, 0.99), rows / ITERATIONS,
+                    statistics.getQueryPlanCacheMissCount(), statistics.getQueryPlanCacheHitCount(),
+                    (double) statistics.getPrepareStatementCount() / ITERATIONS);
+        } catch (RuntimeException e) {
+            System.out.printf("[bench] %-9s names=%-6d failed: %s%n", name, size, e);
+        }
+    }
+
+    // 7/8 ~ 1배 길이, 있는 회원 이름
+    private static List<String> names(int size) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int length = size - random.nextInt(size / 8 + 1);
+        List<String> names = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            names.add("in" + random.nextInt(MEMBERS));
+        }
+        return names;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,127 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementReport;
+import study.datajpa.jdbc.StatementScope;
+import study.datajpa.repository.support.ConnectionPoolPressure;
+import study.datajpa.repository.support.InListExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// chunk-size 512 -> 이름 1,200개는 청크 3개 (512, 512, 176 -> 패딩되면 256)
+@SpringBootTest
+class InListQueryTest {
+
+    static final int AGE = 25_100;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ConnectionPoolPressure poolPressure;
+
+    List<String> names;
+
+    @BeforeEach
+    void setUp() {
+        names = IntStream.range(0, 1_200).mapToObj(i -> "inlist" + i).toList();
+        if (memberRepository.findListByUsername("inlist0").isEmpty()) {
+            memberRepository.saveAllInBatch(names.stream().map(name -> new Member(name, AGE)).toList());
+        }
+    }
+
+    @Test
+    public void chunkedSameAsSingleIn(){
+        //given -> 없는 이름, 중복 이름 섞음
+        List<String> query = new ArrayList<>(names);
+        query.addAll(names.subList(0, 100));
+        query.add("inlistNobody");
+
+        //when -> 동시 실행을 골랐고 트랜잭션 밖 -> 이 스레드에서는 select 안 나감
+        StatementScope scope = StatementScope.open("inListParallel");
+        List<Member> chunked = memberRepository.findByNamesParallel(query);
+        StatementReport report = scope.close();
+
+        //then
+        assertThat(chunked.size()).isEqualTo(1_200);
+        assertThat(usernames(chunked)).isEqualTo(Set.copyOf(names));
+        assertThat(usernames(chunked)).isEqualTo(usernames(memberRepository.findByNames(names)));
+        assertThat(report.selectCount()).isEqualTo(0);
+    }
+
+    // findByNamesChunked는 트랜잭션 밖이어도 이 스레드에서 청크마다 select 하나씩 순차
+    @Test
+    public void sequentialByDefault(){
+        StatementScope scope = StatementScope.open("inListDefault");
+        List<Member> chunked = memberRepository.findByNamesChunked(names);
+        StatementReport report = scope.close();
+
+        assertThat(chunked.size()).isEqualTo(1_200);
+        assertThat(report.selectCount()).isEqualTo(3);
+    }
+
+    // 동시 실행을 골라도 트랜잭션 안이면 지금 영속성 컨텍스트에서 순차
+    @Test
+    public void sequentialInTransaction(){
+        StatementReport report = transactionTemplate.execute(status -> {
+            StatementScope scope = StatementScope.open("inListSequential");
+            List<Member> chunked = memberRepository.findByNamesParallel(names);
+            StatementReport sequential = scope.close();
+
+            assertThat(chunked.size()).isEqualTo(1_200);
+            return sequential;
+        });
+
+        assertThat(report.selectCount()).isEqualTo(3);
+    }
+
+    // parallel-start-timeout은 커넥션 대기에만 -> 시작한 청크가 느려도 끝까지 기다리고 다시 돌리지 않음
+    @Test
+    public void slowChunksAreNotRerun(){
+        //given -> 청크 2개, 워커 2개, 커넥션 대기는 100ms까지
+        InListExecutor executor = new InListExecutor(2, 2, Duration.ofMillis(100), transactionManager, poolPressure);
+        AtomicInteger calls = new AtomicInteger();
+
+        //when -> 청크마다 300ms
+        List<Integer> result = executor.executeParallel(List.of(1, 2, 3, 4), chunk -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return chunk;
+        });
+
+        //then
+        assertThat(result).isEqualTo(List.of(1, 2, 3, 4));
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void empty(){
+        StatementScope scope = StatementScope.open("inListEmpty");
+        List<Member> result = memberRepository.findByNamesChunked(List.of());
+        StatementReport report = scope.close();
+
+        assertThat(result.isEmpty()).isTrue();
+        assertThat(report.selectCount()).isEqualTo(0);
+    }
+
+    private static Set<String> usernames(List<Member> members) {
+        return members.stream().map(Member::getUsername).collect(Collectors.toSet());
+    }
+}
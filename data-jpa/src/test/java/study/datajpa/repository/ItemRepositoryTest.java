@@ -1,18 +1,39 @@
 package study.datajpa.repository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.datajpa.entity.Item;
+import study.datajpa.jdbc.ShapeCount;
+import study.datajpa.jdbc.StatementBudget;
+import study.datajpa.jdbc.StatementReport;
+import study.datajpa.jdbc.StatementScope;
 
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 class ItemRepositoryTest {
 
+    static final int ROWS = 100_000;
+
     @Autowired
     ItemRepository itemRepository;
 
+    @PersistenceContext
+    EntityManager em;
+
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAllInBatch();
+    }
+
     @Test
     public void save(){
 
@@ -21,4 +42,68 @@ class ItemRepositoryTest {
 
     }
 
-}
\ No newline at end of file
+    // 10만 건 insert -> select 0번, insert는 JDBC 배치 단위로 (건마다가 아님)
+    @Test
+    @StatementBudget(maxStatements = -1, maxRepeated = -1)
+    public void insertAllInBatch(){
+        StatementReport report = count(() -> itemRepository.insertAllInBatch(items(0, ROWS)), ROWS);
+
+        assertThat(report.selectCount()).isEqualTo(0);
+        assertBatched(report, "insert");
+        assertThat(countBulkItems()).isEqualTo(ROWS);
+    }
+
+    // 절반은 이미 있는 상태에서 10만 건 upsert -> select 0번, 있던 건 그대로 + 나머지만 insert
+    @Test
+    @StatementBudget(maxStatements = -1, maxRepeated = -1)
+    public void upsertAllInBatch(){
+        itemRepository.insertAllInBatch(items(0, ROWS / 2));
+
+        StatementReport report = count(() -> itemRepository.upsertAllInBatch(items(0, ROWS)), ROWS);
+
+        assertThat(report.selectCount()).isEqualTo(0);
+        assertBatched(report, "merge");
+        assertThat(countBulkItems()).isEqualTo(ROWS);
+    }
+
+    @Test
+    public void insertDuplicate(){
+        itemRepository.insertAllInBatch(items(0, 1));
+
+        assertThrows(RuntimeException.class, () -> itemRepository.insertAllInBatch(items(0, 1)));
+    }
+
+    private StatementReport count(IntSupplier write, int expected) {
+        StatementScope scope = StatementScope.open("itemBulk");
+        int written;
+        StatementReport report;
+        try {
+            written = write.getAsInt();
+        } finally {
+            report = scope.close();
+        }
+        assertThat(written).isEqualTo(expected);
+        return report;
+    }
+
+    // SQL 집계가 안 되면 select 0번도 그냥 통과함 -> 쓰기 SQL이 실제로 잡혔는지 같이 확인
+    private static void assertBatched(StatementReport report, String verb) {
+        int writes = report.getShapes().stream()
+                .filter(shape -> shape.getFingerprint().startsWith(verb))
+                .mapToInt(ShapeCount::getCount)
+                .sum();
+        assertThat(writes).isGreaterThan(0);
+        assertThat(writes).isLessThan(ROWS);
+    }
+
+    private long countBulkItems() {
+        return em.createQuery("select count(i) from Item i where i.id like 'bulk%'", Long.class)
+                .getSingleResult();
+    }
+
+    private Iterable<Item> items(int from, int to) {
+        return () -> IntStream.range(from, to)
+                .mapToObj(i -> new Item("bulk" + i))
+                .iterator();
+    }
+}
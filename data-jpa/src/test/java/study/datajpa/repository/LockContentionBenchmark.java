@@ -0,0 +1,135 @@
+package study.datajpa.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementBudget;
+import study.datajpa.repository.support.OptimisticRetryExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 회원 몇 명(bench.hotRows)의 age를 writer들이 동시에 +1 -> 비관적 락 vs 낙관적 락 + 재시도
+ * ./gradlew benchmark --tests '*LockContentionBenchmark' -Pbench.writers=1,2,4,8,16,32,64 -Pbench.updates=2000
+ *
+ * writer 수마다 처리량, 작업 단위 p99, 충돌률(conflicts / attempts), 실패 수(락 타임아웃, 재시도 소진)를 출력
+ * 커넥션 풀(10개)보다 writer가 많으면 두 방식 모두 풀 대기가 섞임
+ */
+@SpringBootTest(properties = {"datajpa.optimistic-retry.max-attempts=10", "datajpa.warmup.enabled=false"})
+@Tag("benchmark")
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+class LockContentionBenchmark {
+
+    static final int[] WRITERS = Arrays.stream(System.getProperty("bench.writers", "1,2,4,8,16,32,64").split(","))
+            .mapToInt(value -> Integer.parseInt(value.trim()))
+            .toArray();
+    static final int UPDATES = Integer.getInteger("bench.updates", 2_000);
+    static final int HOT_ROWS = Integer.getInteger("bench.hotRows", 1);
+    static final int AGE = 24_000;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired OptimisticRetryExecutor retryExecutor;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired MeterRegistry meterRegistry;
+
+    private final List<Member> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(created);
+    }
+
+    @Test
+    void pessimistic() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int writers : WRITERS) {
+            run("pessimistic", writers, username -> transaction.executeWithoutResult(status -> {
+                // select ... for update -> 앞 트랜잭션이 커밋할 때까지 대기
+                Member member = memberRepository.findLockByUsername(username).get(0);
+                member.setAge(member.getAge() + 1);
+            }));
+        }
+    }
+
+    @Test
+    void optimistic() throws Exception {
+        for (int writers : WRITERS) {
+            run("optimistic", writers, username -> retryExecutor.run("contention", () -> {
+                // 락 없이 읽고 커밋 때 버전 확인 -> 충돌하면 OptimisticRetryExecutor가 다시 실행
+                Member member = memberRepository.findByUsername(username).get(0);
+                member.setAge(member.getAge() + 1);
+            }));
+        }
+    }
+
+    private void run(String path, int writers, UpdateUnit unit) throws Exception {
+        List<String> hot = new ArrayList<>();
+        for (int i = 0; i < HOT_ROWS; i++) {
+            String username = "contention" + writers + "_" + i;
+            created.add(memberRepository.save(new Member(username, AGE)));
+            hot.add(username);
+        }
+        double attemptsBefore = count(OptimisticRetryExecutor.ATTEMPTS);
+        double conflictsBefore = count(OptimisticRetryExecutor.CONFLICTS);
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long[] latencies = new long[UPDATES];
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(writers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(pool.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < UPDATES) {
+                        String username = hot.get(ThreadLocalRandom.current().nextInt(hot.size()));
+                        long begin = System.nanoTime();
+                        try {
+                            unit.update(username);
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        int applied = hot.stream()
+                .mapToInt(username -> memberRepository.findByUsername(username).get(0).getAge() - AGE)
+                .sum();
+        double attempts = count(OptimisticRetryExecutor.ATTEMPTS) - attemptsBefore;
+        double conflicts = count(OptimisticRetryExecutor.CONFLICTS) - conflictsBefore;
+        System.out.printf("[bench] %-11s writers=%-3d updates/sec=%.0f p99=%.1fms applied=%d failed=%d conflictRate=%s%n",
+                path, writers, UPDATES / seconds, latencies[(int) (UPDATES * 0.99) - 1] / 1_000_000.0,
+                applied, failed.get(), attempts == 0 ? "-" : String.format("%.2f", conflicts / attempts));
+    }
+
+    private double count(String metric) {
+        Counter counter = meterRegistry.find(metric).tag("name", "contention").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    interface UpdateUnit {
+        void update(String username);
+    }
+}
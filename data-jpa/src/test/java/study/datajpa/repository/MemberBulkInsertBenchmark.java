@@ -0,0 +1,66 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementBudget;
+
+import java.util.stream.IntStream;
+
+/**
+ * save() 건별 저장 vs saveAllInBatch() 비교
+ * ./gradlew benchmark --tests '*MemberBulkInsertBenchmark' -Pbench.rows=1000000
+ */
+@SpringBootTest
+@Tag("benchmark")
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+class MemberBulkInsertBenchmark {
+
+    static final int ROWS = Integer.getInteger("bench.rows", 1_000_000);
+    // 이번 실행이 넣은 회원만 골라 지우려고 username 앞에 붙임
+    static final String PREFIX = "bench" + Long.toString(System.nanoTime(), 36) + "-";
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+
+    // 같은 컨텍스트(DB)를 쓰는 다른 테스트의 회원은 그대로 둠
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("delete from Member m where m.username like :prefix")
+                .setParameter("prefix", PREFIX + "%")
+                .executeUpdate());
+    }
+
+    // 파이프라인 없이 -> 건마다 트랜잭션 + insert
+    @Test
+    void saveOneByOne() {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            memberRepository.save(new Member(PREFIX + i, i % 100));
+        }
+        report("save() per row", start);
+    }
+
+    // 파이프라인 -> 한 트랜잭션, JDBC batch, batch_size마다 flush + clear
+    @Test
+    void saveAllInBatch() {
+        long start = System.nanoTime();
+        // 100만 건을 리스트로 들고 있지 않게 Iterable로 하나씩 만들어서 넘김
+        Iterable<Member> rows = () -> IntStream.range(0, ROWS)
+                .mapToObj(i -> new Member(PREFIX + i, i % 100))
+                .iterator();
+        memberRepository.saveAllInBatch(rows);
+        report("saveAllInBatch()", start);
+    }
+
+    private void report(String name, long start) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("[bench] %-18s rows=%d time=%.2fs rows/sec=%.0f%n", name, ROWS, seconds, ROWS / seconds);
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
@@ -16,6 +17,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
 @Transactional
 @Rollback(value = false)
+// 커밋한 데이터가 같은 설정의 다른 테스트 클래스에 남지 않게 -> 끝나면 컨텍스트(메모리 DB)를 버림
+@DirtiesContext
 class MemberJpaRepositoryTest {
 
     @Autowired
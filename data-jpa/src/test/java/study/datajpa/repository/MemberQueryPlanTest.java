@@ -0,0 +1,167 @@
+package study.datajpa.repository;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.jdbc.StatementBudget;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MemberRepository 쿼리 메소드를 전부 실행해서 나간 select마다 H2 EXPLAIN
+ * 플랜에 tableScan이 있으면 실패 -> 인덱스가 빠지거나 조건이 인덱스를 못 타게 바뀐 걸 잡음
+ * 전체를 읽는 게 목적인 쿼리만 FULL_SCAN_ALLOWED로 뺌
+ * 메소드가 예외를 던지거나 select가 하나도 안 나가면(NO_SELECT_EXPECTED 제외) 실패 -> 검사 없이 통과하는 메소드가 없게
+ */
+@SpringBootTest
+@Transactional
+@Import(MemberQueryPlanTest.SqlCapture.class)
+class MemberQueryPlanTest {
+
+    static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "findUsernameList", "findMemberDto", "streamMemberDto",
+            "findMemberFetchJoin", "findAll", "findMemberEntityGraph");
+    // select 없이 끝나도 되는 메소드
+    static final Set<String> NO_SELECT_EXPECTED = Set.of();
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired SqlCapture sqlCapture;
+
+    @BeforeEach
+    void setUp() {
+        Team team = new Team("planTeam");
+        teamRepository.save(team);
+        memberRepository.saveAllInBatch(IntStream.range(0, 1000)
+                .mapToObj(i -> new Member("plan" + i, i % 50, team))
+                .toList());
+    }
+
+    @Test
+    @StatementBudget(maxStatements = -1, maxRepeated = -1)
+    public void noFullScanOnQueryMethods() throws Exception {
+        List<String> violations = new ArrayList<>();
+        List<String> unchecked = new ArrayList<>();
+        Map<String, String> plans = new HashMap<>();
+
+        for (Method method : MemberRepository.class.getDeclaredMethods()) {
+            // 벌크 update는 select가 아님
+            if (method.isDefault() || AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+                continue;
+            }
+            for (String sql : sqlCapture.capture(() -> invoke(method))) {
+                String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+                plans.merge(method.getName(), plan, (a, b) -> a + "\n" + b);
+                if (!FULL_SCAN_ALLOWED.contains(method.getName())
+                        && plan.toLowerCase(Locale.ROOT).contains("tablescan")) {
+                    violations.add(method.getName() + " -> " + plan);
+                }
+            }
+            if (!plans.containsKey(method.getName()) && !NO_SELECT_EXPECTED.contains(method.getName())) {
+                unchecked.add(method.getName());
+            }
+        }
+
+        // SQL 캡처가 안 되면 검사 없이 통과해버림 -> 메소드마다 플랜을 봤는지, 새 인덱스를 타는지까지 확인
+        assertThat(unchecked).isEmpty();
+        assertThat(plans.get("findListByUsername").toLowerCase(Locale.ROOT)).contains("idx_member_username_id");
+        assertThat(violations).isEmpty();
+    }
+
+    private void invoke(Method method) throws Exception {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = argument(types[i]);
+        }
+        Object result;
+        try {
+            result = method.invoke(memberRepository, args);
+        } catch (InvocationTargetException e) {
+            // 실패한 메소드는 플랜을 못 봤을 수 있음 -> 인자나 데이터를 맞춰야 함
+            throw new AssertionError(method.getName() + " 실행 실패", e.getCause());
+        }
+        // Stream 반환 -> 다 읽고 닫아야 커넥션이 정리됨
+        if (result instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Object argument(Class<?> type) {
+        if (type == String.class) {
+            return "plan1";
+        }
+        if (type == int.class || type == Integer.class) {
+            return 10;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return List.of("plan1", "plan2");
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            return PageRequest.of(0, 10, Sort.by("username"));
+        }
+        // null을 넘기면 조건이 빠진 쿼리의 플랜을 보게 됨
+        throw new IllegalArgumentException("인자 값 추가 필요: " + type.getName());
+    }
+
+    // 바인드 값이 들어간 select를 모음 (capture 중일 때만)
+    @TestConfiguration
+    static class SqlCapture extends SimpleJdbcEventListener {
+
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        List<String> capture(ThrowingRunnable runnable) throws Exception {
+            List<String> sqls = new ArrayList<>();
+            captured.set(sqls);
+            try {
+                runnable.run();
+            } finally {
+                captured.remove();
+            }
+            return sqls;
+        }
+
+        @Override
+        public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            List<String> sqls = captured.get();
+            if (sqls == null) {
+                return;
+            }
+            String sql = statementInformation.getSqlWithValues().trim();
+            String lower = sql.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("select") || lower.startsWith("with")) {
+                sqls.add(sql);
+            }
+        }
+    }
+
+    interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,71 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.dto.CursorPage;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// R2DBC는 다른 커넥션이라 커밋된 데이터만 보임 -> 테스트 트랜잭션 없이
+@SpringBootTest(properties = "datajpa.reactive.enabled=true")
+class MemberReactiveRepositoryTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired MemberReactiveRepository memberReactiveRepository;
+
+    @Test
+    public void findByUsername(){
+        //given
+        Member member = memberRepository.save(new Member("reactive1", 16_000));
+
+        //when
+        List<Member> result = memberReactiveRepository.findByUsername("reactive1").collectList().block();
+
+        //then
+        assertThat(result.stream().anyMatch(m -> m.getId().equals(member.getId()) && m.getAge() == 16_000)).isTrue();
+    }
+
+    @Test
+    public void keysetPagesAndStream(){
+        //given
+        memberRepository.saveAllInBatch(IntStream.range(0, 5).mapToObj(i -> new Member("reactiveKeyset" + i, 16_001)).toList());
+
+        //when
+        CursorPage<Member> first = memberReactiveRepository.findByAgeKeyset(16_001, null, 2).block();
+        CursorPage<Member> second = memberReactiveRepository.findByAgeKeyset(16_001, MemberCursor.decode(first.getNextCursor()), 2).block();
+        // 페이지 크기 2로 끝까지 -> 요청한 만큼만 페이지를 읽음
+        List<Member> firstThree = memberReactiveRepository.streamByAge(16_001, 2).take(3).collectList().block();
+
+        //then -> JPA 키셋 페이징과 같은 순서
+        List<Member> jpa = memberRepository.findByAgeKeyset(16_001, null, 4).getContent();
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getContent().get(0).getId()).isEqualTo(jpa.get(0).getId());
+        assertThat(second.getContent().get(0).getId()).isEqualTo(jpa.get(2).getId());
+        assertThat(firstThree.size()).isEqualTo(3);
+        assertThat(firstThree.get(2).getId()).isEqualTo(jpa.get(2).getId());
+    }
+
+    @Test
+    public void findMemberDto(){
+        //given
+        Team team = teamRepository.save(new Team("reactiveTeam"));
+        Member member = memberRepository.save(new Member("reactiveDto", 16_002, team));
+
+        //when
+        List<MemberDto> result = memberReactiveRepository.findMemberDto()
+                .filter(dto -> dto.getId().equals(member.getId()))
+                .collectList().block();
+
+        //then
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getTeamName()).isEqualTo("reactiveTeam");
+    }
+}
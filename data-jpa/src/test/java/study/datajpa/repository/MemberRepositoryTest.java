@@ -10,15 +10,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +29,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
 @Transactional
 @Rollback(value = false)
+// 커밋한 데이터가 같은 설정의 다른 테스트 클래스에 남지 않게 -> 끝나면 컨텍스트(메모리 DB)를 버림
+@DirtiesContext
 class MemberRepositoryTest {
 
     @Autowired MemberRepository memberRepository;
@@ -252,6 +257,117 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();
     }
 
+    // count 캐시 페이징
+    @Test
+    public void cachedCountPaging(){
+        //given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("cached" + i, 310));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.Direction.DESC, "username");
+
+        //when
+        Page<Member> page = memberRepository.findByAgeWithCachedCount(310, pageRequest);
+
+        //then
+        assertThat(page.getContent().size()).isEqualTo(3);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+
+        // save -> 캐시 무효화 -> 다시 count
+        memberRepository.save(new Member("cached5", 310));
+        assertThat(memberRepository.findByAgeWithCachedCount(310, pageRequest).getTotalElements()).isEqualTo(6);
+
+        // 마지막 페이지는 content 개수로 total 계산 (count 쿼리 생략)
+        Page<Member> last = memberRepository.findByAgeWithCachedCount(310, PageRequest.of(1, 4, Sort.Direction.DESC, "username"));
+        assertThat(last.getTotalElements()).isEqualTo(6);
+    }
+
+    // DTO 직접 조회 페이징
+    @Test
+    public void memberDtoPage(){
+        //given
+        Team team = new Team("dtoTeam");
+        teamRepository.save(team);
+        memberRepository.save(new Member("dto1", 340, team));
+        memberRepository.save(new Member("dto2", 340));
+
+        //when -> 방금 저장한 두 명이 id 역순으로 맨 앞
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(PageRequest.of(0, 2, Sort.Direction.DESC, "id"));
+
+        //then
+        List<MemberDto> content = page.getContent();
+        assertThat(content.get(0).getUsername()).isEqualTo("dto2");
+        assertThat(content.get(0).getTeamName()).isNull();
+        assertThat(content.get(1).getUsername()).isEqualTo("dto1");
+        assertThat(content.get(1).getTeamName()).isEqualTo("dtoTeam");
+        assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+    }
+
+    // 키셋 페이징
+    @Test
+    public void keysetPaging(){
+        //given -> 같은 username은 member_id로 순서가 정해짐
+        memberRepository.save(new Member("keyset1",300));
+        memberRepository.save(new Member("keyset2",300));
+        memberRepository.save(new Member("keyset2",300));
+        memberRepository.save(new Member("keyset3",300));
+        memberRepository.save(new Member("keyset4",300));
+
+        //when
+        Slice<Member> first = memberRepository.findByAgeKeyset(300, null, 3);
+        MemberCursor cursor = MemberCursor.decode(MemberCursor.of(first.getContent().get(2)).encode());
+        Slice<Member> second = memberRepository.findByAgeKeyset(300, cursor, 3);
+
+        //then
+        assertThat(first.getContent().size()).isEqualTo(3);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent().size()).isEqualTo(2);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent().get(0).getUsername()).isEqualTo("keyset3");
+        assertThat(second.getContent().get(1).getUsername()).isEqualTo("keyset4");
+    }
+
+    // batch insert
+    @Test
+    public void saveAllInBatch(){
+        //given
+        Team team = new Team("batchTeam");
+        teamRepository.saveAllInBatch(List.of(team));
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            members.add(new Member("batch" + i, 320, team));
+        }
+
+        //when -> batch_size마다 flush + clear
+        int count = memberRepository.saveAllInBatch(members);
+
+        //then
+        assertThat(count).isEqualTo(250);
+        assertThat(memberRepository.findByAgeWithCachedCount(320, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(250);
+    }
+
+    // export용 스트림
+    @Test
+    public void streamMemberDto(){
+        //given
+        Team team = new Team("streamTeam");
+        teamRepository.save(team);
+        memberRepository.save(new Member("stream1", 330, team));
+        memberRepository.save(new Member("stream2", 330));
+
+        //when -> 스트림은 반드시 close
+        List<MemberDto> result;
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            result = stream.filter(dto -> dto.getUsername() != null && dto.getUsername().startsWith("stream")).toList();
+        }
+
+        //then -> 팀 없는 회원도 left join으로 포함
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.get(0).getTeamName()).isEqualTo("streamTeam");
+        assertThat(result.get(1).getTeamName()).isNull();
+    }
+
     @Test
     void bilkAgePlus() {
         memberRepository.save(new Member("member1",10));
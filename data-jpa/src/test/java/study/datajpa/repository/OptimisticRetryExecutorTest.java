@@ -0,0 +1,86 @@
+package study.datajpa.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.support.OptimisticRetryExecutor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 시도 도중에 다른 트랜잭션이 같은 회원을 먼저 수정하고 커밋 -> 커밋 시 버전 충돌
+@SpringBootTest(properties = {
+        "datajpa.optimistic-retry.max-attempts=3",
+        "datajpa.optimistic-retry.initial-backoff=1ms"})
+class OptimisticRetryExecutorTest {
+
+    @Autowired OptimisticRetryExecutor retryExecutor;
+    @Autowired MemberRepository memberRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    public void retryOnConflict(){
+        //given
+        Long id = memberRepository.save(new Member("optimistic1", 23_000)).getId();
+        AtomicInteger calls = new AtomicInteger();
+
+        //when
+        retryExecutor.run("retryOnConflict", () -> {
+            Member member = memberRepository.findById(id).orElseThrow();
+            if (calls.incrementAndGet() == 1) {
+                concurrentUpdate(id);
+            }
+            member.setAge(member.getAge() + 1);
+        });
+
+        //then
+        // 첫 시도는 충돌, 두 번째 시도는 다른 트랜잭션의 +1을 읽고 +1
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(memberRepository.findById(id).orElseThrow().getAge()).isEqualTo(23_002);
+        assertThat(count(OptimisticRetryExecutor.ATTEMPTS, "retryOnConflict")).isEqualTo(2.0);
+        assertThat(count(OptimisticRetryExecutor.CONFLICTS, "retryOnConflict")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void exhausted(){
+        //given
+        Long id = memberRepository.save(new Member("optimistic2", 23_001)).getId();
+
+        //when
+        // 매번 충돌 -> max-attempts(3)번 후 예외
+        assertThrows(OptimisticLockingFailureException.class, () -> retryExecutor.run("exhausted", () -> {
+            Member member = memberRepository.findById(id).orElseThrow();
+            concurrentUpdate(id);
+            member.setAge(member.getAge() + 100);
+        }));
+
+        //then
+        assertThat(count(OptimisticRetryExecutor.CONFLICTS, "exhausted")).isEqualTo(3.0);
+        assertThat(count(OptimisticRetryExecutor.EXHAUSTED, "exhausted")).isEqualTo(1.0);
+        assertThat(memberRepository.findById(id).orElseThrow().getAge()).isEqualTo(23_004);
+    }
+
+    private void concurrentUpdate(Long id) {
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        other.executeWithoutResult(status -> {
+            Member member = memberRepository.findById(id).orElseThrow();
+            member.setAge(member.getAge() + 1);
+        });
+    }
+
+    private double count(String metric, String name) {
+        Counter counter = meterRegistry.find(metric).tag("name", name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,111 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementBudget;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * 블로킹 JPA(MemberRepository) vs 리액티브(MemberReactiveRepository) 읽기 비교
+ * ./gradlew benchmark --tests '*ReactiveReadBenchmark' -Pbench.concurrency=256 -Pbench.requests=20000
+ *
+ * 블로킹은 동시 요청 수만큼 플랫폼 스레드, 리액티브는 flatMap(concurrency)로 같은 동시성
+ */
+@SpringBootTest(properties = "datajpa.reactive.enabled=true")
+@Tag("benchmark")
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+class ReactiveReadBenchmark {
+
+    static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 256);
+    static final int REQUESTS = Integer.getInteger("bench.requests", 20_000);
+    static final int USERS = 1_000;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberReactiveRepository memberReactiveRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (memberRepository.findByUsername("reactiveBench0").isEmpty()) {
+            memberRepository.saveAllInBatch(IntStream.range(0, USERS).mapToObj(i -> new Member("reactiveBench" + i, 17_000)).toList());
+        }
+    }
+
+    @Test
+    void findByUsername() throws Exception {
+        blocking("findByUsername", i -> () -> memberRepository.findByUsername("reactiveBench" + i % USERS).size());
+        reactive("findByUsername", i -> memberReactiveRepository.findByUsername("reactiveBench" + i % USERS).count());
+    }
+
+    @Test
+    void findMemberDto() throws Exception {
+        blocking("findMemberDto", i -> () -> memberRepository.findMemberDto().size());
+        reactive("findMemberDto", i -> memberReactiveRepository.findMemberDto().count());
+    }
+
+    private void blocking(String name, IntFunction<IntSupplier> call) throws Exception {
+        try (ExecutorService threads = Executors.newFixedThreadPool(CONCURRENCY)) {
+            run(threads, call, Math.min(REQUESTS, 2_000)); // 워밍업
+            long start = System.nanoTime();
+            long[] latencies = run(threads, call, REQUESTS);
+            report("blocking", name, start, latencies);
+        }
+    }
+
+    private long[] run(ExecutorService threads, IntFunction<IntSupplier> call, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        Future<?>[] futures = new Future<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            int n = i;
+            futures[i] = threads.submit(() -> {
+                long start = System.nanoTime();
+                call.apply(n).getAsInt();
+                latencies[n] = System.nanoTime() - start;
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return latencies;
+    }
+
+    private void reactive(String name, IntFunction<Mono<Long>> call) {
+        run(call, Math.min(REQUESTS, 2_000)); // 워밍업
+        long start = System.nanoTime();
+        long[] latencies = run(call, REQUESTS);
+        report("reactive", name, start, latencies);
+    }
+
+    private long[] run(IntFunction<Mono<Long>> call, int requests) {
+        List<Long> latencies = Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return call.apply(i).map(count -> System.nanoTime() - start);
+                }), CONCURRENCY)
+                .collectList()
+                .block();
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void report(String mode, String name, long start, long[] latencies) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        Arrays.sort(latencies);
+        System.out.printf("[bench] %-8s %-14s concurrency=%d requests=%d req/sec=%.0f p50=%.2fms p99=%.2fms%n",
+                mode, name, CONCURRENCY, REQUESTS, REQUESTS / seconds,
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000.0);
+    }
+}
@@ -0,0 +1,86 @@
+package study.datajpa.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.support.RepositoryMetrics;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired TeamJpaRepository teamJpaRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    public void springDataRepository(){
+        //given
+        memberRepository.save(new Member("metricsA", 20_000));
+        memberRepository.save(new Member("metricsA", 20_000));
+        long before = count("MemberRepository", "findByUsername", "success");
+
+        //when
+        memberRepository.findByUsername("metricsA");
+
+        //then
+        assertThat(count("MemberRepository", "findByUsername", "success")).isEqualTo(before + 1);
+        assertThat(rows("MemberRepository", "findByUsername").totalAmount()).isGreaterThanOrEqualTo(2.0);
+    }
+
+    @Test
+    public void springDataRepositoryError(){
+        //given
+        memberRepository.save(new Member("metricsB", 20_001));
+        memberRepository.save(new Member("metricsB", 20_001));
+
+        //when
+        // 단건 조회인데 2건 -> IncorrectResultSizeDataAccessException
+        assertThrows(RuntimeException.class, () -> memberRepository.findMemberByUsername("metricsB"));
+
+        //then
+        Timer errors = meterRegistry.find(RepositoryMetrics.INVOCATIONS)
+                .tags("repository", "MemberRepository", "method", "findMemberByUsername", "outcome", "error")
+                .timer();
+        assertThat(errors).isNotNull();
+        assertThat(errors.count()).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    public void handWrittenRepository(){
+        //given
+        Member member = memberJpaRepository.save(new Member("metricsC", 20_002));
+        long before = count("MemberJpaRepository", "find", "success");
+
+        //when
+        memberJpaRepository.find(member.getId());
+        teamJpaRepository.findAll();
+
+        //then
+        assertThat(count("MemberJpaRepository", "find", "success")).isEqualTo(before + 1);
+        assertThat(count("TeamJpaRepository", "findAll", "success")).isGreaterThanOrEqualTo(1L);
+    }
+
+    // 아직 한 번도 안 불렸으면 Timer가 없음 -> 0
+    private long count(String repository, String method, String outcome) {
+        Timer timer = meterRegistry.find(RepositoryMetrics.INVOCATIONS)
+                .tags("repository", repository, "method", method, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private DistributionSummary rows(String repository, String method) {
+        return meterRegistry.get(RepositoryMetrics.ROWS)
+                .tags("repository", repository, "method", method)
+                .summary();
+    }
+}
@@ -0,0 +1,108 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+// 2차 캐시/쿼리 캐시는 커밋 이후에 채워지기 때문에 테스트 트랜잭션 없이 검증
+// 대신 공유 DB에 커밋한 회원(10000 ~ 10003살)은 테스트마다 지움
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManagerFactory emf;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManager em;
+
+    @AfterEach
+    void cleanUp() {
+        // bilkAgePlus로 1살 늘어난 회원까지
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("delete from Member m where m.age between 10000 and 10004")
+                .executeUpdate());
+    }
+
+    @Test
+    public void findByIdHitsCache(){
+        //given -> insert 커밋 시점에 캐시에 올라감
+        Member member = memberRepository.save(new Member("l2cache", 10_000));
+        CacheRegionStatistics stats = regionStats();
+        long hitsBefore = stats.getHitCount();
+
+        //when
+        Member findMember = memberRepository.findById(member.getId()).get();
+
+        //then
+        assertThat(findMember.getUsername()).isEqualTo("l2cache");
+        assertThat(stats.getHitCount()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    public void bulkUpdateEvictsRegion(){
+        //given
+        Member member = memberRepository.save(new Member("l2bulk", 10_001));
+        memberRepository.findById(member.getId());
+
+        //when -> 벌크 연산은 캐시를 거치지 않음 -> 리전을 비워야 됨
+        Integer resultCount = transactionTemplate.execute(status -> memberRepository.bilkAgePlus(10_001));
+
+        //then -> 캐시에 남은 10001살이 아니라 DB의 10002살을 읽어야 함
+        assertThat(resultCount).isGreaterThanOrEqualTo(1);
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(10_002);
+    }
+
+    @Test
+    public void queryCache(){
+        //given
+        memberRepository.save(new Member("queryCache", 10_002));
+        Statistics statistics = statistics();
+        memberRepository.findUsernameList();
+        long hitsBefore = statistics.getQueryCacheHitCount();
+
+        //when -> 같은 쿼리 + 같은 파라미터는 DB를 안 감
+        List<String> cached = memberRepository.findUsernameList();
+
+        //then
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitsBefore + 1);
+
+        // member 테이블에 쓰기 -> 무효화 -> 새로 저장한 회원도 보여야 함
+        memberRepository.save(new Member("queryCache2", 10_002));
+        List<String> afterWrite = memberRepository.findUsernameList();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitsBefore + 1);
+        assertThat(afterWrite.size()).isEqualTo(cached.size() + 1);
+    }
+
+    @Test
+    public void queryCacheInvalidatedByBulkUpdate(){
+        //given
+        memberRepository.save(new Member("queryBulk", 10_003));
+        List<Member> before = memberRepository.findByNames(List.of("queryBulk"));
+
+        //when
+        transactionTemplate.execute(status -> memberRepository.bilkAgePlus(10_003));
+
+        //then -> 벌크 연산도 테이블 수정 시각을 갱신해서 캐시된 결과를 안 씀
+        List<Member> after = memberRepository.findByNames(List.of("queryBulk"));
+        assertThat(before.get(0).getAge()).isEqualTo(10_003);
+        assertThat(after.get(0).getAge()).isEqualTo(10_004);
+    }
+
+    private Statistics statistics() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private CacheRegionStatistics regionStats() {
+        return statistics().getDomainDataRegionStatistics(Member.class.getName());
+    }
+}
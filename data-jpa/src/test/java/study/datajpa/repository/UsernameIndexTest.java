@@ -0,0 +1,173 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementReport;
+import study.datajpa.jdbc.StatementScope;
+import study.datajpa.repository.support.EntityWriteNotifier;
+import study.datajpa.repository.support.UsernameIndex;
+import study.datajpa.repository.support.UsernameIndexStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 트랜잭션 없이 -> 로그인 요청처럼 조회마다 커밋된 상태를 봄
+// 기본은 꺼져 있음 -> 이 테스트 컨텍스트가 member.username의 유일한 writer
+@SpringBootTest(properties = "datajpa.username-index.enabled=true")
+class UsernameIndexTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired UsernameIndex usernameIndex;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityWriteNotifier writeNotifier;
+
+    private final List<Member> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(created);
+    }
+
+    // 없는 username -> Bloom filter에서 끝남
+    @Test
+    public void missingUsername(){
+        //given
+        long before = usernameIndex.stats().bloomNegatives();
+
+        //when
+        int selects = selectCount(() -> {
+            for (int i = 0; i < 100; i++) {
+                assertThat(memberRepository.findOptionalByUsername("bloomMissing" + i)).isEqualTo(Optional.empty());
+            }
+        });
+
+        //then
+        // 회원 수에 비해 필터가 커서 오탐은 거의 없음
+        assertThat(selects).isLessThanOrEqualTo(1);
+        assertThat(usernameIndex.stats().bloomNegatives() - before).isGreaterThanOrEqualTo(99L);
+    }
+
+    // 새로 넣은 회원 -> 바로 찾아지고, 두 번째부터는 near-cache + 2차 캐시라 select 없음
+    @Test
+    public void newMember(){
+        //given
+        Member member = save(new Member("bloomNew" + System.nanoTime(), 25_000));
+
+        //when
+        Member first = memberRepository.findMemberByUsername(member.getUsername());
+        UsernameIndexStats before = usernameIndex.stats();
+        int selects = selectCount(() ->
+                assertThat(memberRepository.findMemberByUsername(member.getUsername()).getId()).isEqualTo(member.getId()));
+
+        //then
+        assertThat(first.getId()).isEqualTo(member.getId());
+        assertThat(selects).isEqualTo(0);
+        assertThat(usernameIndex.stats().cacheHits()).isEqualTo(before.cacheHits() + 1);
+    }
+
+    // username을 바꾸면 옛 이름의 near-cache는 버려지고 새 이름은 Bloom filter에 추가됨
+    @Test
+    public void renamedMember(){
+        //given
+        String oldName = "bloomOld" + System.nanoTime();
+        String newName = "bloomRenamed" + System.nanoTime();
+        Member member = save(new Member(oldName, 25_001));
+        memberRepository.findMemberByUsername(oldName);
+
+        //when
+        transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findById(member.getId()).orElseThrow().setUsername(newName));
+
+        //then
+        assertThat(memberRepository.findMemberByUsername(oldName)).isNull();
+        assertThat(memberRepository.findMemberByUsername(newName).getId()).isEqualTo(member.getId());
+    }
+
+    // 같은 username이 하나 더 생기면 단건 조회는 원래대로 예외
+    @Test
+    public void duplicatedUsername(){
+        //given
+        String username = "bloomDup" + System.nanoTime();
+        save(new Member(username, 25_002));
+        memberRepository.findMemberByUsername(username);
+
+        //when
+        save(new Member(username, 25_002));
+
+        //then
+        assertThrows(RuntimeException.class,
+                () -> memberRepository.findMemberByUsername(username));
+    }
+
+    // username을 바꿀 수 있는 벌크 쓰기가 지나가면 필터/near-cache를 버림 -> 필터가 모르는 회원도 찾아지고, 다시 만든 필터에는 들어 있음
+    @Test
+    public void bulkWriteDropsFilter() throws InterruptedException {
+        //given -> 리스너를 안 거치고 들어간 회원 (지금 필터는 모름)
+        String username = "bloomBulk" + System.nanoTime();
+        Long id = insertDirectly(username, 25_003);
+
+        //when -> 바뀐 속성을 모르는 벌크 쓰기 (네이티브 SQL 등)
+        transactionTemplate.executeWithoutResult(status -> writeNotifier.notifyWrite(Member.class, true));
+
+        //then -> 필터를 다시 만드는 중이든 끝났든 DB까지 감
+        assertThat(memberRepository.findMemberByUsername(username).getId()).isEqualTo(id);
+        awaitFilter();
+        assertThat(usernameIndex.mightExist(username)).isTrue();
+    }
+
+    // age만 바꾸는 벌크 (@Modifying JPQL) -> 필터를 그대로 씀
+    @Test
+    public void bulkWriteWithoutUsernameKeepsFilter() throws InterruptedException {
+        //given -> 앞 테스트에서 예약된 rebuild가 끝난 뒤에 넣음
+        awaitFilter();
+        String username = "bloomAge" + System.nanoTime();
+        insertDirectly(username, 25_004);
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bilkAgePlus(Integer.MAX_VALUE));
+
+        //then -> 다시 만들지 않았으니 필터는 여전히 이 회원을 모름
+        assertThat(usernameIndex.stats().bloomBytes()).isNotEqualTo(0L);
+        assertThat(usernameIndex.mightExist(username)).isFalse();
+    }
+
+    private void awaitFilter() throws InterruptedException {
+        for (int i = 0; i < 100 && usernameIndex.stats().bloomBytes() == 0; i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    private Long insertDirectly(String username, int age) {
+        Long id = jdbcTemplate.queryForObject("select next value for member_seq", Long.class);
+        jdbcTemplate.update("insert into member (member_id, username, age, version) values (?, ?, ?, 0)", id, username, age);
+        created.add(memberRepository.findById(id).orElseThrow());
+        return id;
+    }
+
+    private int selectCount(Runnable lookup) {
+        StatementScope scope = StatementScope.open("usernameIndex");
+        StatementReport report;
+        try {
+            lookup.run();
+        } finally {
+            report = scope.close();
+        }
+        return report.selectCount();
+    }
+
+    private Member save(Member member) {
+        Member saved = memberRepository.save(member);
+        created.add(saved);
+        return saved;
+    }
+}
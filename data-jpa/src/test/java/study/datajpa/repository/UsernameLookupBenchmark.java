@@ -0,0 +1,84 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.jdbc.StatementBudget;
+import study.datajpa.repository.support.UsernameIndex;
+import study.datajpa.repository.support.UsernameIndexStats;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * 로그인 경로 조회: findOptionalByUsername(@UsernameLookup) vs 인덱스 없는 같은 조건 조회(findListByUsername)
+ * ./gradlew benchmark --tests '*UsernameLookupBenchmark' -Pbench.members=1000000 -Pbench.missRatio=0.5
+ *
+ * 없는 username 비율(bench.missRatio)만큼 섞어서 조회하고 처리량 + 적중률/오탐률/메모리를 출력
+ */
+@SpringBootTest(properties = {"datajpa.warmup.enabled=false", "datajpa.username-index.enabled=true"})
+@Tag("benchmark")
+@StatementBudget(maxStatements = -1, maxRepeated = -1)
+class UsernameLookupBenchmark {
+
+    static final int MEMBERS = Integer.getInteger("bench.members", 100_000);
+    static final int LOOKUPS = Integer.getInteger("bench.lookups", 50_000);
+    static final double MISS_RATIO = Double.parseDouble(System.getProperty("bench.missRatio", "0.5"));
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired UsernameIndex usernameIndex;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lookups() {
+        memberRepository.saveAllInBatch(() -> IntStream.range(0, MEMBERS)
+                .mapToObj(i -> new Member("login" + i, i % 100))
+                .iterator());
+        usernameIndex.rebuild();
+
+        run("db only", username -> memberRepository.findListByUsername(username));
+
+        UsernameIndexStats before = usernameIndex.stats();
+        run("username index", username -> memberRepository.findOptionalByUsername(username));
+        UsernameIndexStats after = usernameIndex.stats();
+
+        UsernameIndexStats delta = new UsernameIndexStats(
+                after.bloomNegatives() - before.bloomNegatives(), after.cacheHits() - before.cacheHits(),
+                after.dbHits() - before.dbHits(), after.falsePositives() - before.falsePositives(),
+                after.bloomBytes(), after.bloomExpectedFpp(), after.cachedEntries(), after.cacheBytes());
+        System.out.printf("[bench] hitRate=%.3f falsePositiveRate=%.4f (expected %.4f) bloom=%dKB cache=%d entries/%dKB%n",
+                delta.hitRate(), delta.falsePositiveRate(), delta.bloomExpectedFpp(),
+                delta.bloomBytes() / 1024, delta.cachedEntries(), delta.cacheBytes() / 1024);
+    }
+
+    private void run(String name, Consumer<String> lookup) {
+        // 워밍업 (JIT, 커넥션 풀) + near-cache 채우기는 측정 구간 안에서
+        for (int i = 0; i < 1_000; i++) {
+            lookup.accept(username());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.accept(username());
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("[bench] %-15s members=%d lookups=%d missRatio=%.2f lookups/sec=%.0f%n",
+                name, MEMBERS, LOOKUPS, MISS_RATIO, LOOKUPS / seconds);
+    }
+
+    // 있는 회원은 앞쪽 1%에 몰리게 (로그인은 자주 오는 사용자가 반복)
+    private static String username() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < MISS_RATIO) {
+            return "nobody" + random.nextInt(Integer.MAX_VALUE);
+        }
+        return "login" + random.nextInt(Math.max(1, MEMBERS / 100));
+    }
+}
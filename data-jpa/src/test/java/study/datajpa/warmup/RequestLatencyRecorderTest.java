@@ -0,0 +1,35 @@
+package study.datajpa.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.datajpa.dto.EndpointLatencyDto;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestLatencyRecorderTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired RequestLatencyRecorder requestLatencyRecorder;
+
+    @Test
+    public void firstAndSteadyLatency() throws Exception {
+        //when
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/hello"));
+        }
+
+        //then -> 패턴 단위로 첫 요청 + 나머지 중앙값
+        EndpointLatencyDto hello = requestLatencyRecorder.snapshot().stream()
+                .filter(dto -> dto.getEndpoint().equals("GET /hello"))
+                .findFirst().get();
+        assertThat(hello.getRequests()).isGreaterThanOrEqualTo(5L);
+        assertThat(hello.getFirstMillis()).isGreaterThan(0.0);
+        assertThat(hello.getSteadyP50Millis()).isGreaterThan(0.0);
+    }
+}